@@ -0,0 +1,171 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic, reproducible data for the benchmarks.
+ */
+final class Datasets {
+    /**
+     * Kinds of data, chosen with the {@code shape} parameter of a benchmark.
+     */
+    enum Shape {
+        /**
+         * Four short numeric columns.
+         */
+        NARROW_NUMERIC,
+        /**
+         * Forty columns of words, some with non-ASCII characters.
+         */
+        WIDE_TEXT,
+        /**
+         * Ten columns, all needing quotes for separators and text qualifiers.
+         */
+        HEAVY_QUOTING,
+        /**
+         * Six columns, half of them spanning several lines.
+         */
+        EMBEDDED_NEWLINES
+    }
+
+    /**
+     * Approximate size of a dataset in bytes, formatted as CSV.
+     */
+    static final int SIZE = 8 << 20;
+
+    private static final String[] WORDS = {
+      "alpha", "bravo", "charlie", "delta", "echo", "foxtrot", "größe", "übermaß",
+      "€uro", "naïve", "x", "lorem", "ipsum", "dolor", "sit", "amet",
+    };
+
+    private Datasets() {
+    }
+
+    /**
+     * Generates the rows of a dataset.
+     *
+     * @param shape kind of data
+     * @return rows of about {@link #SIZE} bytes, always the same for a shape
+     */
+    static List<List<String>> rows(final Shape shape) {
+        final Random rnd = new Random(shape.ordinal());
+        final List<List<String>> rows = new ArrayList<>();
+        long size = 0;
+        for (long id = 0; size < SIZE; ++id) {
+            final String[] row;
+            switch (shape) {
+            case NARROW_NUMERIC:
+                row = new String[] {
+                  Long.toString(id),
+                  Integer.toString(rnd.nextInt(1000)),
+                  String.format("%d.%02d", rnd.nextInt(10000), rnd.nextInt(100)),
+                  Double.toString(rnd.nextDouble()),
+                };
+                break;
+            case WIDE_TEXT:
+                row = new String[40];
+                for (int i = 0; i < row.length; ++i) {
+                    row[i] = WORDS[rnd.nextInt(WORDS.length)];
+                }
+                break;
+            case HEAVY_QUOTING:
+                row = new String[10];
+                for (int i = 0; i < row.length; ++i) {
+                    row[i] = WORDS[rnd.nextInt(WORDS.length)] + ", \"" +
+                      WORDS[rnd.nextInt(WORDS.length)] + "\"";
+                }
+                break;
+            case EMBEDDED_NEWLINES:
+                row = new String[6];
+                for (int i = 0; i < row.length; ++i) {
+                    row[i] = (i & 1) == 0 ? WORDS[rnd.nextInt(WORDS.length)] :
+                      WORDS[rnd.nextInt(WORDS.length)] + "\n" + WORDS[rnd.nextInt(WORDS.length)] +
+                      "\r\n" + WORDS[rnd.nextInt(WORDS.length)];
+                }
+                break;
+            default:
+                throw new IllegalArgumentException(shape.name());
+            }
+            for (final String field : row) {
+                // roughly, ignoring quoting and multi-byte characters
+                size += field.length() + 1;
+            }
+            rows.add(Arrays.asList(row));
+        }
+        return rows;
+    }
+
+    /**
+     * Formats rows as CSV in UTF-8.
+     *
+     * @param rows to format
+     * @return the CSV data
+     */
+    static byte[] csv(final List<List<String>> rows) {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream(SIZE + SIZE / 4);
+        final CSVFileWriter w = new CSVFileWriter(bos);
+        for (final List<String> row : rows) {
+            w.writeFields(row);
+        }
+        w.close();
+        return bos.toByteArray();
+    }
+
+    /**
+     * Formats rows as SSV.
+     *
+     * @param rows to format
+     * @return the SSV data
+     */
+    static byte[] ssv(final List<List<String>> rows) {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream(SIZE + SIZE / 4);
+        final SSVFileWriter w = new SSVFileWriter(bos);
+        for (final List<String> row : rows) {
+            w.writeFields(row);
+        }
+        w.close();
+        return bos.toByteArray();
+    }
+
+    /**
+     * Output discarding the bytes written, only counting them.
+     */
+    static final class Sink extends OutputStream {
+        long count = 0;
+
+        @Override
+        public void write(final int b) {
+            ++count;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+            count += len;
+        }
+    }
+}
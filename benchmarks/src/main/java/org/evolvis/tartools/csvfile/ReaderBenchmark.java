@@ -0,0 +1,149 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads a whole CSV dataset per operation through the various reading paths.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReaderBenchmark {
+    /**
+     * Uses the line-based parser, {@link CSVFileReader#handleQuotedField(StringBuilder, int)}
+     * and {@link CSVFileReader#handlePlainField(StringBuilder, int)}, by overriding one of its hooks.
+     */
+    private static final class LineReader extends CSVFileReader {
+        private LineReader(final Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        protected boolean fieldIsQuoted(final int i) {
+            return super.fieldIsQuoted(i);
+        }
+    }
+
+    /**
+     * The kind of data, see {@link Datasets.Shape}.
+     */
+    @Param({ "NARROW_NUMERIC", "WIDE_TEXT", "HEAVY_QUOTING", "EMBEDDED_NEWLINES" })
+    public String shape;
+
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        data = Datasets.csv(Datasets.rows(Datasets.Shape.valueOf(shape)));
+    }
+
+    private Reader chars() {
+        return new InputStreamReader(new ByteArrayInputStream(data), StandardCharsets.UTF_8);
+    }
+
+    private static void drain(final CSVFileReader r, final Blackhole bh) throws IOException {
+        List<String> row;
+        while ((row = r.readFields()) != null) {
+            bh.consume(row);
+        }
+        r.close();
+    }
+
+    /**
+     * {@link CSVFileReader#readFields()} locating fields on the raw bytes.
+     */
+    @Benchmark
+    public void readFieldsBytes(final Throughput t, final Blackhole bh) throws IOException {
+        drain(new CSVFileReader(new ByteArrayInputStream(data), "UTF-8"), bh);
+        t.add(data.length);
+    }
+
+    /**
+     * {@link CSVFileReader#readFields()} scanning decoded characters.
+     */
+    @Benchmark
+    public void readFieldsChars(final Throughput t, final Blackhole bh) throws IOException {
+        drain(new CSVFileReader(chars()), bh);
+        t.add(data.length);
+    }
+
+    /**
+     * {@link CSVFileReader#readFields()} through the line-based parser hooks.
+     */
+    @Benchmark
+    public void readFieldsLineHooks(final Throughput t, final Blackhole bh) throws IOException {
+        drain(new LineReader(chars()), bh);
+        t.add(data.length);
+    }
+
+    /**
+     * The {@link CSVFileReader#nextRow()} cursor, looking at every field without copying it.
+     */
+    @Benchmark
+    public void nextRow(final Throughput t, final Blackhole bh) throws IOException {
+        final CSVFileReader r = new CSVFileReader(new ByteArrayInputStream(data), "UTF-8");
+        while (r.nextRow()) {
+            for (int i = 0; i < r.getFieldCount(); ++i) {
+                bh.consume(r.getField(i).length());
+            }
+        }
+        r.close();
+        t.add(data.length);
+    }
+
+    /**
+     * {@link CSVFileReader#readBlock(RowBlock)} into a reused block.
+     */
+    @Benchmark
+    public void readBlock(final Throughput t, final Blackhole bh) throws IOException {
+        final CSVFileReader r = new CSVFileReader(new ByteArrayInputStream(data), "UTF-8");
+        final RowBlock block = new RowBlock();
+        while (r.readBlock(block) > 0) {
+            bh.consume(block.getChars());
+        }
+        r.close();
+        t.add(data.length);
+    }
+}
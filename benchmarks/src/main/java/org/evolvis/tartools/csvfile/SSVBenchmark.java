@@ -0,0 +1,141 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads and writes a whole SSV dataset per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SSVBenchmark {
+    /**
+     * The kind of data, see {@link Datasets.Shape}.
+     */
+    @Param({ "NARROW_NUMERIC", "WIDE_TEXT", "HEAVY_QUOTING", "EMBEDDED_NEWLINES" })
+    public String shape;
+
+    private List<List<String>> rows;
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        rows = Datasets.rows(Datasets.Shape.valueOf(shape));
+        data = Datasets.ssv(rows);
+    }
+
+    private static void drain(final SSVFileReader r, final Blackhole bh) throws IOException {
+        List<String> row;
+        while ((row = r.readFields()) != null) {
+            bh.consume(row);
+        }
+        r.close();
+    }
+
+    /**
+     * {@link SSVFileReader#readFields()} locating fields on the raw bytes.
+     */
+    @Benchmark
+    public void readFieldsBytes(final Throughput t, final Blackhole bh) throws IOException {
+        drain(new SSVFileReader(new ByteArrayInputStream(data)), bh);
+        t.add(data.length);
+    }
+
+    /**
+     * {@link SSVFileReader#readFields()} scanning decoded characters.
+     */
+    @Benchmark
+    public void readFieldsChars(final Throughput t, final Blackhole bh) throws IOException {
+        drain(new SSVFileReader(new InputStreamReader(new ByteArrayInputStream(data),
+          StandardCharsets.UTF_8)), bh);
+        t.add(data.length);
+    }
+
+    /**
+     * The {@link SSVFileReader#nextRow()} cursor, looking at every field without
+     * copying it; with LF as embedded newline, converted in place.
+     */
+    @Benchmark
+    public void nextRow(final Throughput t, final Blackhole bh) throws IOException {
+        final SSVFileReader r = new SSVFileReader(new ByteArrayInputStream(data));
+        r.useUnixNewline();
+        while (r.nextRow()) {
+            for (int i = 0; i < r.getFieldCount(); ++i) {
+                bh.consume(r.getField(i).length());
+            }
+        }
+        r.close();
+        t.add(data.length);
+    }
+
+    /**
+     * {@link SSVFileReader#inReadLine()}, splitting into lines only.
+     */
+    @Benchmark
+    public void inReadLine(final Throughput t, final Blackhole bh) throws IOException {
+        final SSVFileReader r = new SSVFileReader(new InputStreamReader(new ByteArrayInputStream(data),
+          StandardCharsets.UTF_8));
+        String line;
+        while ((line = r.inReadLine()) != null) {
+            bh.consume(line);
+        }
+        r.close();
+        t.add(data.length);
+    }
+
+    /**
+     * {@link SSVFileWriter#writeFields(Iterable)}.
+     */
+    @Benchmark
+    public void writeFields(final Throughput t, final Blackhole bh) {
+        final Datasets.Sink sink = new Datasets.Sink();
+        final SSVFileWriter w = new SSVFileWriter(sink);
+        for (final List<String> row : rows) {
+            w.writeFields(row);
+        }
+        w.close();
+        bh.consume(sink.count);
+        t.add(sink.count);
+    }
+}
@@ -0,0 +1,57 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Counts the data a benchmark processes; JMH reports the counter as
+ * secondary result “mb” per second, that is, throughput in MB/s.
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.OPERATIONS)
+public class Throughput {
+    /**
+     * Megabytes (10⁶ bytes) processed in the current iteration.
+     */
+    public double mb;
+
+    /**
+     * Starts counting anew for each iteration.
+     */
+    @Setup(Level.Iteration)
+    public void reset() {
+        mb = 0;
+    }
+
+    /**
+     * Counts processed data.
+     *
+     * @param bytes number of bytes read or written
+     */
+    void add(final long bytes) {
+        mb += bytes / 1e6;
+    }
+}
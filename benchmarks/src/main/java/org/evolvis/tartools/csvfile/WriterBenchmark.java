@@ -0,0 +1,134 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a whole CSV dataset per operation through the various writing paths.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WriterBenchmark {
+    /**
+     * Formats every field through {@link CSVFileWriter#prepareField(Object)}
+     * by overriding it.
+     */
+    private static final class PrepareWriter extends CSVFileWriter {
+        private PrepareWriter(final Datasets.Sink sink) {
+            super(sink);
+        }
+
+        @Override
+        protected String prepareField(final Object field) {
+            return super.prepareField(field);
+        }
+    }
+
+    /**
+     * The kind of data, see {@link Datasets.Shape}.
+     */
+    @Param({ "NARROW_NUMERIC", "WIDE_TEXT", "HEAVY_QUOTING", "EMBEDDED_NEWLINES" })
+    public String shape;
+
+    private List<List<String>> rows;
+
+    @Setup
+    public void setUp() {
+        rows = Datasets.rows(Datasets.Shape.valueOf(shape));
+    }
+
+    private void writeAll(final CSVFileWriter w, final Datasets.Sink sink, final Throughput t,
+      final Blackhole bh) {
+        for (final List<String> row : rows) {
+            w.writeFields(row);
+        }
+        w.close();
+        bh.consume(sink.count);
+        t.add(sink.count);
+    }
+
+    /**
+     * {@link CSVFileWriter#writeFields(Iterable)} encoding UTF-8 directly.
+     */
+    @Benchmark
+    public void writeFieldsBytes(final Throughput t, final Blackhole bh) {
+        final Datasets.Sink sink = new Datasets.Sink();
+        writeAll(new CSVFileWriter(sink), sink, t, bh);
+    }
+
+    /**
+     * {@link CSVFileWriter#writeFields(Iterable)} to a {@link java.io.Writer}.
+     */
+    @Benchmark
+    public void writeFieldsChars(final Throughput t, final Blackhole bh) {
+        final Datasets.Sink sink = new Datasets.Sink();
+        writeAll(new CSVFileWriter(new OutputStreamWriter(sink, StandardCharsets.UTF_8)), sink, t, bh);
+    }
+
+    /**
+     * {@link CSVFileWriter#writeFields(Iterable)} going through {@link CSVFileWriter#prepareField(Object)}.
+     */
+    @Benchmark
+    public void prepareField(final Throughput t, final Blackhole bh) {
+        final Datasets.Sink sink = new Datasets.Sink();
+        writeAll(new PrepareWriter(sink), sink, t, bh);
+    }
+
+    /**
+     * The {@link CSVFileWriter#beginRow()} row builder.
+     */
+    @Benchmark
+    public void writeField(final Throughput t, final Blackhole bh) {
+        final Datasets.Sink sink = new Datasets.Sink();
+        final CSVFileWriter w = new CSVFileWriter(sink);
+        for (final List<String> row : rows) {
+            w.beginRow();
+            for (final String field : row) {
+                w.writeField(field);
+            }
+            w.endRow();
+        }
+        w.close();
+        bh.consume(sink.count);
+        t.add(sink.count);
+    }
+}
@@ -0,0 +1,130 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.lang.reflect.Constructor;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Finds the next occurrence of any of a small set of stop bytes (the line
+ * feed and up to three others) in a byte array, used by the byte scanner
+ * of {@link CSVFileReader} to skip over field contents in bulk.
+ *
+ * This implementation compares eight bytes at a time in a {@code long}
+ * (SWAR); on Java 17 and newer, if the {@code jdk.incubator.vector}
+ * module is present (for example with {@code --add-modules
+ * jdk.incubator.vector}), {@link #create()} returns a subclass from the
+ * multi-release part of the JAR which uses the Vector API instead.
+ */
+class ByteScanner {
+    /**
+     * Stop byte value meaning none; never matches.
+     */
+    static final int NONE = 0x100;
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    private static final Constructor<? extends ByteScanner> VECTOR = vector();
+
+    private ByteBuffer words = null;
+
+    /**
+     * Creates the best available scanner; each instance may only be used
+     * by a single thread.
+     *
+     * @return new scanner
+     */
+    static ByteScanner create() {
+        if (VECTOR != null) {
+            try {
+                return VECTOR.newInstance();
+            } catch (ReflectiveOperationException e) {
+                // cannot happen, was tried before
+            }
+        }
+        return new ByteScanner();
+    }
+
+    private static Constructor<? extends ByteScanner> vector() {
+        try {
+            final Constructor<? extends ByteScanner> c = Class
+              .forName("org.evolvis.tartools.csvfile.VectorByteScanner")
+              .asSubclass(ByteScanner.class).getDeclaredConstructor();
+            // links against the Vector API, failing if it is not available
+            c.newInstance().find(new byte[256], 0, 256, NONE, NONE, NONE);
+            return c;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds the first stop byte in a range of a byte array.
+     *
+     * @param b    array to search
+     * @param from start of the range
+     * @param to   end of the range
+     * @param s1   additional stop byte, 0x00‥0x7F, or {@link #NONE}
+     * @param s2   additional stop byte, 0x00‥0x7F, or {@link #NONE}
+     * @param s3   additional stop byte, 0x00‥0x7F, or {@link #NONE}
+     * @return offset of the first LF, s1, s2 or s3, or to if there is none
+     */
+    int find(final byte[] b, final int from, final int to,
+      final int s1, final int s2, final int s3) {
+        int p = from;
+        if (to - p >= 8) {
+            if (words == null || words.array() != b) {
+                words = ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            final long p0 = ONES * '\n';
+            final long p1 = ONES * (s1 == NONE ? '\n' : s1);
+            final long p2 = ONES * (s2 == NONE ? '\n' : s2);
+            final long p3 = ONES * (s3 == NONE ? '\n' : s3);
+            while (to - p >= 8) {
+                final long w = words.getLong(p);
+                final long m = zeros(w ^ p0) | zeros(w ^ p1) | zeros(w ^ p2) | zeros(w ^ p3);
+                if (m != 0) {
+                    return p + (Long.numberOfTrailingZeros(m) >>> 3);
+                }
+                p += 8;
+            }
+        }
+        while (p < to) {
+            final int c = b[p];
+            if (c == '\n' || c == s1 || c == s2 || c == s3) {
+                break;
+            }
+            ++p;
+        }
+        return p;
+    }
+
+    /**
+     * Marks the zero bytes of a word by setting their high bit. Bytes
+     * above (in little-endian order) the first zero byte may be marked
+     * spuriously, but the lowest mark is always exact.
+     */
+    private static long zeros(final long x) {
+        return (x - ONES) & ~x & HIGHS;
+    }
+}
@@ -0,0 +1,248 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte window into an {@link InputStream}, used by {@link CSVFileReader}
+ * to locate field boundaries on the raw bytes and decode only the field
+ * contents, for charsets in which separators, text qualifiers and line
+ * terminators (all ASCII) cannot occur as part of another character.
+ *
+ * As an {@link InputStream}, it returns the bytes not yet scanned followed
+ * by the rest of the underlying stream, so the reader can fall back to
+ * decoding everything once byte scanning is no longer possible.
+ */
+final class ByteWindow extends InputStream {
+    /**
+     * Byte window into the input; managed by {@link CSVFileReader}.
+     */
+    byte[] buf = new byte[CSVFileReader.WINDOW_SIZE];
+
+    /**
+     * Current scan position in {@link #buf}.
+     */
+    int pos = 0;
+
+    /**
+     * End of valid data in {@link #buf}.
+     */
+    int lim = 0;
+
+    /**
+     * Start of the current row in {@link #buf}.
+     */
+    int rowStart = 0;
+
+    /**
+     * Offset in the underlying stream (or file) of {@code buf[0]}.
+     */
+    long offset = 0;
+
+    /**
+     * Whether EOF was reached on {@link #src}.
+     */
+    boolean eof = false;
+
+    /**
+     * The underlying stream.
+     */
+    final InputStream src;
+
+    /**
+     * Finds stop bytes in {@link #buf}.
+     */
+    final ByteScanner scanner = ByteScanner.create();
+
+    private final boolean latin1;
+    private final boolean utf8;
+    private final CharsetDecoder decoder;
+    private ByteBuffer bb = null;
+    private CharBuffer cb = null;
+
+    /**
+     * Creates a byte window; check with {@link #supports(Charset)} first.
+     *
+     * @param stream  the underlying stream
+     * @param charset the charset of the stream
+     */
+    ByteWindow(final InputStream stream, final Charset charset) {
+        src = stream;
+        latin1 = StandardCharsets.ISO_8859_1.equals(charset);
+        utf8 = StandardCharsets.UTF_8.equals(charset);
+        decoder = charset.newDecoder()
+          .onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Checks whether byte scanning can be used for the charset, that is,
+     * whether it is UTF-8 or an ASCII-compatible single-byte charset.
+     *
+     * @param charset to check
+     * @return true if the bytes 0x00‥0x7F always represent ASCII characters
+     */
+    static boolean supports(final Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset) ||
+          StandardCharsets.US_ASCII.equals(charset) ||
+          StandardCharsets.ISO_8859_1.equals(charset)) {
+            return true;
+        }
+        if (!charset.canEncode()) {
+            return false;
+        }
+        final CharsetEncoder enc = charset.newEncoder();
+        if (enc.maxBytesPerChar() != 1.0f) {
+            return false;
+        }
+        final byte[] ascii = new byte[0x80];
+        for (int i = 0; i < ascii.length; ++i) {
+            ascii[i] = (byte) i;
+        }
+        try {
+            final CharBuffer chars = charset.newDecoder()
+              .onMalformedInput(CodingErrorAction.REPORT)
+              .onUnmappableCharacter(CodingErrorAction.REPORT)
+              .decode(ByteBuffer.wrap(ascii));
+            for (int i = 0; i < ascii.length; ++i) {
+                if (chars.get(i) != i) {
+                    return false;
+                }
+            }
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a range of {@link #buf} into a character array.
+     *
+     * The destination must have room for at least one character per byte.
+     *
+     * @param from first byte to decode
+     * @param to   end of the bytes to decode
+     * @param dst  destination array
+     * @param dpos position in the destination array
+     * @return position after the last decoded character
+     */
+    int decode(final int from, final int to, final char[] dst, final int dpos) {
+        final byte[] b = buf;
+        int i = from;
+        int d = dpos;
+        if (latin1) {
+            while (i < to) {
+                dst[d++] = (char) (b[i++] & 0xFF);
+            }
+            return d;
+        }
+        // ASCII fast path
+        while (i < to && b[i] >= 0) {
+            dst[d++] = (char) b[i++];
+        }
+        if (i == to) {
+            return d;
+        }
+        if (bb == null || bb.array() != b) {
+            bb = ByteBuffer.wrap(b);
+        }
+        if (cb == null || cb.array() != dst) {
+            cb = CharBuffer.wrap(dst);
+        }
+        bb.clear();
+        bb.position(i);
+        bb.limit(to);
+        cb.clear();
+        cb.position(d);
+        decoder.reset();
+        decoder.decode(bb, cb, true);
+        decoder.flush(cb);
+        return cb.position();
+    }
+
+    /**
+     * Counts the characters a range of {@link #buf} decodes into, without
+     * decoding it; malformed input may be counted differently.
+     *
+     * @param from first byte to count
+     * @param to   end of the bytes to count
+     * @return number of characters, at most the number of bytes
+     */
+    int chars(final int from, final int to) {
+        if (!utf8) {
+            // single-byte charset
+            return to - from;
+        }
+        final byte[] b = buf;
+        int n = 0;
+        for (int i = from; i < to; ++i) {
+            final int c = b[i] & 0xFF;
+            if (c < 0x80 || c >= 0xC0) {
+                // not a continuation byte
+                ++n;
+                if (c >= 0xF0) {
+                    // outside the BMP, a surrogate pair
+                    ++n;
+                }
+            }
+        }
+        return n;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (pos < lim) {
+            return buf[pos++] & 0xFF;
+        }
+        return eof ? -1 : src.read();
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (pos < lim) {
+            final int n = Math.min(len, lim - pos);
+            System.arraycopy(buf, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+        return eof ? -1 : src.read(b, off, len);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return lim - pos + (eof ? 0 : src.available());
+    }
+
+    @Override
+    public void close() throws IOException {
+        src.close();
+    }
+}
@@ -0,0 +1,516 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Writer} encoding characters as UTF-8 directly into a reusable
+ * byte buffer, which is written to an {@link OutputStream} or a
+ * {@link WritableByteChannel} in large blocks; used by {@link CSVFileWriter}
+ * instead of an {@link java.io.OutputStreamWriter} and a
+ * {@link java.io.BufferedWriter}.
+ *
+ * Until closed or flushed, data is written out in blocks of exactly the
+ * buffer size, so writes to a file stay aligned if the size is a multiple
+ * of the file system’s block size. Unpaired surrogates are encoded as ‘?’,
+ * like the JDK does.
+ *
+ * In asynchronous mode, a second buffer is filled while the first one is
+ * written out by a dedicated I/O thread; the encoding thread waits only
+ * if the second buffer fills up before that write has completed.
+ */
+final class ByteWriter extends Writer {
+    /**
+     * Default size of the byte buffer.
+     */
+    static final int BUFFER_SIZE = 65536;
+
+    /**
+     * Default size of the byte buffer when writing to a file.
+     */
+    static final int FILE_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * The byte buffer; data up to {@link #pos} is not written out yet.
+     * It has room for three more bytes than the block size, so a character
+     * can always be encoded as a whole before the block is written out.
+     */
+    byte[] buf;
+
+    /**
+     * Block size; once {@link #pos} reaches it, a block is written out.
+     */
+    private final int limit;
+
+    /**
+     * End of the encoded data in {@link #buf}.
+     */
+    int pos = 0;
+
+    /**
+     * Number of bytes handed on to be written out.
+     */
+    private long flushed = 0;
+
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+    private ByteBuffer bb = null;
+
+    /**
+     * High surrogate written last, waiting for its low surrogate, or 0.
+     */
+    private char high = 0;
+
+    private boolean closed = false;
+
+    /**
+     * The I/O thread in asynchronous mode, or null.
+     */
+    private ExecutorService io = null;
+
+    /**
+     * The buffer not being filled in asynchronous mode; it may be being
+     * written out by {@link #pending}.
+     */
+    private byte[] spare = null;
+
+    /**
+     * Write of {@link #spare} in progress, or null.
+     */
+    private Future<?> pending = null;
+
+    /**
+     * Whether to force the file contents to storage when closing.
+     */
+    private boolean force = false;
+
+    /**
+     * The error writing out failed with; all later writes fail with it.
+     */
+    private IOException error = null;
+
+    /**
+     * Creates a writer onto a stream.
+     *
+     * @param stream to write the bytes to
+     * @param size   size of the byte buffer
+     */
+    ByteWriter(final OutputStream stream, final int size) {
+        this(stream, null, size);
+    }
+
+    /**
+     * Creates a writer onto a channel.
+     *
+     * @param channel to write the bytes to
+     * @param size    size of the byte buffer
+     */
+    ByteWriter(final WritableByteChannel channel, final int size) {
+        this(null, channel, size);
+    }
+
+    /**
+     * Creates a writer onto a file, creating or truncating it.
+     *
+     * @param file to write the bytes to
+     * @param size size of the byte buffer
+     * @return the writer
+     * @throws IOException if an error occurs while creating the file
+     */
+    static ByteWriter open(final Path file, final int size) throws IOException {
+        checkSize(size);
+        return new ByteWriter(FileChannel.open(file, StandardOpenOption.WRITE,
+          StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING), size);
+    }
+
+    private static void checkSize(final int size) {
+        if (size < 1 || size > Integer.MAX_VALUE - 3) {
+            throw new IllegalArgumentException("invalid buffer size: " + size);
+        }
+    }
+
+    private ByteWriter(final OutputStream stream, final WritableByteChannel channel, final int size) {
+        checkSize(size);
+        this.stream = stream;
+        this.channel = channel;
+        limit = size;
+        buf = new byte[size + 3];
+    }
+
+    /**
+     * Checks whether {@link #setForce(boolean)} can be used.
+     *
+     * @return true if writing to a {@link FileChannel}
+     */
+    boolean isFile() {
+        return channel instanceof FileChannel;
+    }
+
+    /**
+     * Sets whether to force the file contents to storage when closing,
+     * using {@link FileChannel#force(boolean)}, so they survive a system
+     * crash once {@link #close()} returns.
+     *
+     * @param force whether to force the data and metadata out
+     */
+    void setForce(final boolean force) {
+        this.force = force;
+    }
+
+    @Override
+    public void write(final char[] cbuf, final int off, final int len) throws IOException {
+        ensureOpen();
+        final int end = off + len;
+        int i = off;
+        while (i < end) {
+            // ASCII fast path, bounded by the room left in the buffer
+            final byte[] b = buf;
+            int p = pos;
+            final int n = Math.min(end - i, limit - p);
+            if (high == 0) {
+                final int stop = i + n;
+                char c;
+                while (i < stop && (c = cbuf[i]) < 0x80) {
+                    b[p++] = (byte) c;
+                    ++i;
+                }
+                pos = p;
+                if (i == end) {
+                    return;
+                }
+            }
+            if (pos >= limit) {
+                writeBlock();
+            }
+            encode(cbuf[i++]);
+        }
+    }
+
+    @Override
+    public void write(final int c) throws IOException {
+        ensureOpen();
+        if (pos >= limit) {
+            writeBlock();
+        }
+        encode((char) c);
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len) throws IOException {
+        ensureOpen();
+        for (int i = off; i < off + len; ++i) {
+            if (pos >= limit) {
+                writeBlock();
+            }
+            encode(str.charAt(i));
+        }
+    }
+
+    /**
+     * Encodes one character; {@link #pos} must be below the block size,
+     * which leaves room for four bytes, which also suffices for a replaced
+     * unpaired surrogate before it.
+     */
+    private void encode(final char c) {
+        final byte[] b = buf;
+        int p = pos;
+        if (high != 0) {
+            final char h = high;
+            high = 0;
+            if (Character.isLowSurrogate(c)) {
+                final int cp = Character.toCodePoint(h, c);
+                b[p++] = (byte) (0xF0 | (cp >> 18));
+                b[p++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                b[p++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (cp & 0x3F));
+                pos = p;
+                return;
+            }
+            b[p++] = '?';
+        }
+        if (c < 0x80) {
+            b[p++] = (byte) c;
+        } else if (c < 0x800) {
+            b[p++] = (byte) (0xC0 | (c >> 6));
+            b[p++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            high = c;
+        } else if (Character.isLowSurrogate(c)) {
+            b[p++] = '?';
+        } else {
+            b[p++] = (byte) (0xE0 | (c >> 12));
+            b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            b[p++] = (byte) (0x80 | (c & 0x3F));
+        }
+        pos = p;
+    }
+
+    /**
+     * Writes a block out, moving the bytes encoded past it to the front.
+     *
+     * @throws IOException if writing fails
+     */
+    private void writeBlock() throws IOException {
+        final int n = pos - limit;
+        pos = 0;
+        flushed += limit;
+        if (io == null) {
+            writeOut(buf, limit);
+            System.arraycopy(buf, limit, buf, 0, n);
+        } else {
+            final byte[] full = swap();
+            System.arraycopy(full, limit, buf, 0, n);
+            submit(full, limit);
+        }
+        pos = n;
+    }
+
+    /**
+     * Writes the encoded data out, emptying the buffer.
+     *
+     * @throws IOException if writing fails
+     */
+    void drain() throws IOException {
+        final int n = pos;
+        pos = 0;
+        if (n == 0) {
+            return;
+        }
+        flushed += n;
+        if (io == null) {
+            writeOut(buf, n);
+        } else {
+            submit(swap(), n);
+        }
+    }
+
+    /**
+     * Gets the number of bytes encoded so far.
+     *
+     * @return bytes written out or still buffered
+     */
+    long encoded() {
+        return flushed + pos;
+    }
+
+    private void writeOut(final byte[] b, final int n) throws IOException {
+        try {
+            put(b, n);
+        } catch (IOException e) {
+            error = e;
+            throw e;
+        }
+    }
+
+    /**
+     * Writes bytes to the stream or channel; called on the I/O thread
+     * in asynchronous mode.
+     */
+    private void put(final byte[] b, final int n) throws IOException {
+        if (stream != null) {
+            stream.write(b, 0, n);
+            return;
+        }
+        if (bb == null || bb.array() != b) {
+            bb = ByteBuffer.wrap(b);
+        }
+        bb.clear();
+        bb.limit(n);
+        while (bb.hasRemaining()) {
+            channel.write(bb);
+        }
+    }
+
+    /**
+     * Switches to asynchronous mode, or back, waiting for the write in
+     * progress then.
+     *
+     * @param async whether to write out blocks on an I/O thread
+     * @throws IOException if an earlier write failed
+     */
+    void setAsync(final boolean async) throws IOException {
+        ensureOpen();
+        if (async && io == null) {
+            spare = new byte[buf.length];
+            io = Executors.newSingleThreadExecutor(r -> {
+                final Thread t = new Thread(r, "csvfile-writer");
+                t.setDaemon(true);
+                return t;
+            });
+        } else if (!async && io != null) {
+            try {
+                await();
+            } finally {
+                stopIO();
+            }
+        }
+    }
+
+    private void stopIO() {
+        if (io != null) {
+            io.shutdown();
+            io = null;
+            spare = null;
+        }
+    }
+
+    /**
+     * Makes the spare buffer, once written out, the one being filled.
+     *
+     * @return the buffer filled so far
+     * @throws IOException if the write in progress failed
+     */
+    private byte[] swap() throws IOException {
+        await();
+        final byte[] full = buf;
+        buf = spare;
+        spare = full;
+        return full;
+    }
+
+    private void submit(final byte[] b, final int n) {
+        pending = io.submit(() -> {
+            put(b, n);
+            return null;
+        });
+    }
+
+    /**
+     * Waits for the write in progress, if any, to complete.
+     *
+     * @throws IOException if it failed
+     */
+    private void await() throws IOException {
+        if (pending == null) {
+            return;
+        }
+        final Future<?> f = pending;
+        pending = null;
+        try {
+            f.get();
+        } catch (ExecutionException e) {
+            final Throwable t = e.getCause();
+            if (t instanceof IOException) {
+                error = (IOException) t;
+            } else {
+                error = new IOException(t);
+            }
+            throw error;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // the write may still be running, the buffers can’t be reused
+            error = new InterruptedIOException("interrupted waiting for write");
+            throw error;
+        }
+    }
+
+    /**
+     * Throws the error writing out failed with, if any, which callers
+     * writing through a {@link java.io.PrintWriter} would not see.
+     *
+     * @throws IOException if an earlier write failed
+     */
+    void check() throws IOException {
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Writes the encoded data out and flushes the stream; a pending high
+     * surrogate is kept, waiting for its low surrogate.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        drain();
+        await();
+        if (stream != null) {
+            stream.flush();
+        }
+    }
+
+    /**
+     * Writes the encoded data out and closes the stream or channel;
+     * a pending high surrogate is written as ‘?’. Does nothing if
+     * already closed.
+     *
+     * @throws IOException if writing or closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            check();
+            if (high != 0) {
+                high = 0;
+                buf[pos++] = '?';
+            }
+            drain();
+            await();
+            if (force && isFile()) {
+                ((FileChannel) channel).force(true);
+            }
+        } finally {
+            // let the I/O thread finish with the stream or channel first
+            if (io != null) {
+                io.shutdown();
+                try {
+                    io.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                stopIO();
+            }
+            if (stream != null) {
+                stream.close();
+            } else {
+                channel.close();
+            }
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        check();
+        if (closed) {
+            throw new IOException("stream closed");
+        }
+    }
+}
@@ -180,4 +180,26 @@ public abstract class CSVFile {
     public char getTextQualifier() {
         return textQualifier;
     }
+
+    /**
+     * Checks whether a subclass overrides a method.
+     *
+     * @param c      runtime class of the reader or writer
+     * @param base   class declaring the method
+     * @param name   name of the method
+     * @param params its parameter types, so overloads do not count
+     * @return true if it is declared below base
+     */
+    static boolean overrides(final Class<?> c, final Class<?> base, final String name,
+      final Class<?>... params) {
+        for (Class<?> k = c; k != base; k = k.getSuperclass()) {
+            try {
+                k.getDeclaredMethod(name, params);
+                return true;
+            } catch (NoSuchMethodException e) {
+                // not declared in this class
+            }
+        }
+        return false;
+    }
 }
@@ -70,6 +70,7 @@ package org.evolvis.tartools.csvfile;
  * copyright notice and book citation attached.”</cite> I have done so.
  */
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -78,9 +79,30 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.io.UncheckedIOException;
 import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * CSVFileReader is a class derived from {@link CSVFile}
@@ -93,8 +115,137 @@ import java.util.List;
  * @author Michael “Mikel” Klink (de-genericisation, etc.)
  */
 public class CSVFileReader extends CSVFile {
+    /**
+     * Test on the contents of a field, deciding whether its row is read;
+     * see {@link #setFilter(int, FieldFilter)}.
+     */
+    public interface FieldFilter {
+        /**
+         * Tests a field; the characters must not be modified or kept.
+         *
+         * @param chars  buffer holding the field
+         * @param offset of the field in chars
+         * @param length of the field
+         * @return true to read the row, false to skip it
+         */
+        boolean accept(char[] chars, int offset, int length);
+
+        /**
+         * Creates a filter accepting fields equal to a value.
+         *
+         * @param value to compare the fields to
+         * @return the filter
+         */
+        static FieldFilter equalTo(final CharSequence value) {
+            final String v = value.toString();
+            return (chars, offset, length) -> {
+                if (length != v.length()) {
+                    return false;
+                }
+                for (int i = 0; i < length; ++i) {
+                    if (chars[offset + i] != v.charAt(i)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        }
+    }
+
+    /**
+     * Position in a file after a number of rows, from which reading can be
+     * resumed later, see {@link #getCheckpoint()}. Its {@link #toString()}
+     * form is a token that can be stored and turned back by {@link #parse(String)}.
+     */
+    public static final class Checkpoint {
+        private static final int SKIP_LF = 1;
+        private static final int HEADER = 2;
+
+        private final long offset;
+        private final long row;
+        private final int flags;
+
+        private Checkpoint(final long offset, final long row, final int flags) {
+            this.offset = offset;
+            this.row = row;
+            this.flags = flags;
+        }
+
+        /**
+         * Parses a token as returned by {@link #toString()}.
+         *
+         * @param token the token
+         * @return the checkpoint
+         * @throws IllegalArgumentException if the token is malformed
+         */
+        public static Checkpoint parse(final String token) {
+            final String[] parts = token.split(":", -1);
+            try {
+                if (parts.length == 3) {
+                    final long offset = Long.parseLong(parts[0]);
+                    final long row = Long.parseLong(parts[1]);
+                    final int flags = Integer.parseInt(parts[2]);
+                    if (offset >= 0 && row >= 0 && (flags & ~(SKIP_LF | HEADER)) == 0) {
+                        return new Checkpoint(offset, row, flags);
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // fall through
+            }
+            throw new IllegalArgumentException("malformed checkpoint: " + token);
+        }
+
+        /**
+         * Gets the offset of the next row in the file.
+         *
+         * @return byte offset
+         */
+        public long getOffset() {
+            return offset;
+        }
+
+        /**
+         * Gets the number of rows read before the checkpoint, not
+         * counting a header read by {@link #readHeader()}.
+         *
+         * @return number of rows
+         */
+        public long getRow() {
+            return row;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof Checkpoint)) {
+                return false;
+            }
+            final Checkpoint c = (Checkpoint) o;
+            return offset == c.offset && row == c.row && flags == c.flags;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(offset) * 31 + Long.hashCode(row) * 3 + flags;
+        }
+
+        /**
+         * Returns the token for this checkpoint.
+         *
+         * @return offset, row number and parser state, separated by colons
+         */
+        @Override
+        public String toString() {
+            return offset + ":" + row + ":" + flags;
+        }
+    }
+
     /**
      * The buffered reader linked to the CSV file to be read.
+     *
+     * Subclasses may read lines from it and pass them to {@link #readFields(String)};
+     * rows read by {@link #readFields()} or {@link #nextRow()} without the
+     * line-based parsing hooks, however, are scanned from a window read
+     * ahead from it, which is not visible here.
      */
     protected final BufferedReader in;
 
@@ -103,6 +254,212 @@ public class CSVFileReader extends CSVFile {
      */
     protected String line = null;
 
+    /**
+     * Initial size of the character window the row scanner reads into.
+     */
+    static final int WINDOW_SIZE = 65536;
+
+    /**
+     * Initial number of field slots in the row offset tables.
+     */
+    static final int FIELDS_SIZE = 16;
+
+    /**
+     * Character window into the input; filled from {@link #in} by {@link #fill()}.
+     */
+    char[] buf = new char[WINDOW_SIZE];
+
+    /**
+     * Current scan position in {@link #buf}.
+     */
+    int pos = 0;
+
+    /**
+     * End of valid data in {@link #buf}.
+     */
+    int lim = 0;
+
+    /**
+     * Start of the current row in {@link #buf}; everything before may be discarded.
+     */
+    int rowStart = 0;
+
+    /**
+     * Whether EOF was reached on {@link #in}.
+     */
+    boolean eof = false;
+
+    /**
+     * Whether a LF directly following a CR is still to be skipped.
+     */
+    boolean skipLF = false;
+
+    /**
+     * Whether the rest of an SSV line after a NUL is still to be skipped.
+     */
+    boolean skipNUL = false;
+
+    /**
+     * Number of fields in the current row.
+     */
+    int nf = 0;
+
+    /**
+     * Offsets of the beginning of each field of the current row into {@link #buf}.
+     */
+    int[] fbeg = new int[FIELDS_SIZE];
+
+    /**
+     * Offsets of the end of each field of the current row into {@link #buf}.
+     * Quoted fields are unescaped in place, so they always are contiguous.
+     */
+    int[] fend = new int[FIELDS_SIZE];
+
+    /**
+     * Byte window if fields are located on the raw bytes before decoding,
+     * or null if the input is scanned as characters from {@link #in}.
+     */
+    ByteWindow bytes = null;
+
+    /**
+     * Offsets of the beginning of each field of the current row into the byte window.
+     */
+    int[] bbeg = null;
+
+    /**
+     * Offsets of the end of each field of the current row into the byte window.
+     */
+    int[] bend = null;
+
+    /**
+     * Offset in the byte stream of the current row, if scanned on bytes.
+     */
+    long rowOffset = 0;
+
+    /**
+     * Maximum number of characters in a single field.
+     */
+    private int maxFieldSize = Integer.MAX_VALUE;
+
+    /**
+     * Whether a subclass overrides the line-based parsing hooks, so
+     * {@link #readFields()} must go through {@link #readFields(String)}.
+     */
+    private final boolean lineHooks = hasLineHooks();
+
+    /**
+     * Whether a subclass overrides the parsing hooks or postprocesses
+     * fields, so {@link #nextRow()} must go through {@link #readFields()}.
+     */
+    private final boolean fieldHooks = hasFieldHooks();
+
+    /**
+     * Current row of the cursor if read through {@link #readFields()}.
+     */
+    private List<String> row = null;
+
+    /**
+     * Number of rows the cursor advanced to with {@link #nextRow()}.
+     */
+    private long rowNumber = 0;
+
+    /**
+     * Number of rows scanned by {@link #scanProjected()}, for checkpoints.
+     */
+    private long rowsRead = 0;
+
+    /**
+     * Metrics to record, or null.
+     */
+    private CSVMetrics metrics = null;
+
+    /**
+     * Number of quoted fields of the current row, counted only for {@link #metrics}.
+     */
+    private int rowQuoted = 0;
+
+    /**
+     * Number of fields with newlines of the current row, counted only for {@link #metrics}.
+     */
+    private int rowMultiLine = 0;
+
+    /**
+     * Column names read by {@link #readHeader()}, or null.
+     */
+    private List<String> header = null;
+
+    /**
+     * Index of each column name in {@link #header}.
+     */
+    private Map<String, Integer> columnIndex = null;
+
+    /**
+     * Columns rows are restricted to, or null for all.
+     */
+    private int[] projection = null;
+
+    /**
+     * Which columns are part of {@link #projection}, so the others need not be decoded.
+     */
+    private boolean[] projected = null;
+
+    /**
+     * Filter deciding which rows are read, or null.
+     */
+    private FieldFilter filter = null;
+
+    /**
+     * Column {@link #filter} is applied to.
+     */
+    private int filterColumn = 0;
+
+    /**
+     * Whether {@link #decodeRow()} has applied the filter to the current row.
+     */
+    private boolean filterChecked = false;
+
+    /**
+     * Whether the filter rejected the current row.
+     */
+    private boolean filterRejected = false;
+
+    /**
+     * Spare field offset tables, swapped with {@link #fbeg} and {@link #fend}
+     * when projecting a row.
+     */
+    private int[] pbeg = null;
+    private int[] pend = null;
+
+    /**
+     * Cursor views on the fields of the current row, reused across rows.
+     */
+    private FieldView[] views = new FieldView[0];
+
+    /**
+     * The file read, if known, so {@link #spliterator()} can split it.
+     */
+    Path sourceFile = null;
+
+    /**
+     * The charset of {@link #sourceFile}.
+     */
+    Charset sourceCharset = null;
+
+    /**
+     * Whether any input has been read yet.
+     */
+    boolean consumed = false;
+
+    /**
+     * Whether {@link #spliterator()} has been called.
+     */
+    private boolean streamed = false;
+
+    /**
+     * Channel opened by {@link #spliterator()}, closed by {@link #close()}.
+     */
+    private FileChannel streamChannel = null;
+
     /**
      * CSVFileReader constructor just needing the name of the existing CSV file to read.
      *
@@ -210,6 +567,7 @@ public class CSVFileReader extends CSVFile {
     public CSVFileReader(final String inputFileName, final char sep, final char qual)
       throws FileNotFoundException {
         this(new FileReader(inputFileName), sep, qual);
+        fileSource(inputFileName, Charset.defaultCharset());
     }
 
     /**
@@ -238,6 +596,7 @@ public class CSVFileReader extends CSVFile {
     public CSVFileReader(final String inputFileName, final String charsetName, final char sep, final char qual)
       throws FileNotFoundException, UnsupportedEncodingException {
         this(new FileInputStream(inputFileName), charsetName, sep, qual);
+        fileSource(inputFileName, charsetForName(charsetName));
     }
 
     /**
@@ -251,154 +610,2024 @@ public class CSVFileReader extends CSVFile {
      */
     public CSVFileReader(final InputStream stream, final String charsetName, final char sep, final char qual)
       throws UnsupportedEncodingException {
-        super(sep, qual);
-        in = new BufferedReader(new InputStreamReader(stream, charsetName));
+        this(stream, charsetForName(charsetName), sep, qual);
     }
 
     /**
-     * Splits the next line of the input CSV file into fields.
+     * CSVFileReader constructor with given field separator and text qualifier.
      *
-     * This is currently the most important function of the package.
-     * It can read a subsequent line from the input stream if necessary
-     * due to a newline inside a quoted field.
+     * For UTF-8 and ASCII-compatible single-byte charsets, fields are located
+     * on the raw bytes and only their contents are decoded, as long as field
+     * separator and text qualifier are ASCII characters.
      *
-     * @return List of String containing each field from the next line of the file
-     * @throws IOException if an error occurs while reading the new line from the file
+     * @param stream  The {@link InputStream} for reading CSV data
+     * @param charset The charset of the CSV data
+     * @param sep     The field separator to be used; overwrites the default one
+     * @param qual    The text qualifier to be used; overwrites the default one
      */
-    public List<String> readFields() throws IOException {
-        return readFields(in.readLine());
+    CSVFileReader(final InputStream stream, final Charset charset, final char sep, final char qual) {
+        super(sep, qual);
+        if (ByteWindow.supports(charset)) {
+            bytes = new ByteWindow(stream, charset);
+            bbeg = new int[FIELDS_SIZE];
+            bend = new int[FIELDS_SIZE];
+            in = new BufferedReader(new InputStreamReader(bytes, charset));
+        } else {
+            in = new BufferedReader(new InputStreamReader(stream, charset));
+        }
     }
 
     /**
-     * Splits the next line of the input CSV file into fields.
+     * CSVFileReader constructor reading ahead on a background thread.
      *
-     * This is currently the most important function of the package.
-     * It can read a subsequent line from the input stream if necessary
-     * due to a newline inside a quoted field.
+     * A dedicated thread reads and decodes the stream into a ring of
+     * blocks of 64 Ki characters, ahead of the parser, so I/O latency
+     * (such as that of network file systems) and charset decoding overlap
+     * with parsing and with the caller’s work on the rows. The thread stops
+     * at EOF or when the reader is closed; errors it encounters are thrown
+     * once the rows read before them are consumed.
      *
-     * @param firstLine result of in.readLine() if called by parent for preparation
-     *                  already (can only happen if instantiated with a BufferedReader)
-     * @return List of String containing each field from the next line of the file
-     * @throws IOException if an error occurs while reading the new line from the file
+     * @param stream   The {@link InputStream} for reading CSV data
+     * @param charset  The charset of the CSV data
+     * @param sep      The field separator to be used; overwrites the default one
+     * @param qual     The text qualifier to be used; overwrites the default one
+     * @param prefetch The number of blocks in the ring, at least 1
      */
-    public List<String> readFields(final String firstLine) throws IOException {
-        List<String> fields = new ArrayList<>();
-        StringBuilder sb = new StringBuilder();
-        line = firstLine;
-        if (line == null) {
-            return null;
-        }
+    public CSVFileReader(final InputStream stream, final Charset charset, final char sep, final char qual,
+      final int prefetch) {
+        this(new PrefetchReader(new InputStreamReader(new BufferedInputStream(stream,
+          PrefetchReader.BLOCK_SIZE), charset), prefetch), sep, qual);
+    }
 
-        int i = 0;
-        do {
-            sb.setLength(0);
-            if (fieldIsQuoted(i)) {
-                i = handleQuotedField(sb, /* skip quote */ ++i);
-            } else {
-                i = handlePlainField(sb, i);
-            }
-            addField(fields, sb.toString());
-            i++;
-        } while (i < line.length());
+    /**
+     * CSVFileReader constructor resuming reading a CSV file at a checkpoint
+     * taken by {@link #getCheckpoint()} on a reader of the same file with
+     * the same charset, field separator and text qualifier.
+     *
+     * If a header was read before the checkpoint, it is read again from
+     * the start of the file; the reader then seeks to the checkpoint. The
+     * row number of the cursor continues from the rows read before it.
+     * Any projection or filter must be set again.
+     *
+     * @param inputFile  The CSV file to be read
+     * @param charset    The charset of the file
+     * @param sep        The field separator to be used; overwrites the default one
+     * @param qual       The text qualifier to be used; overwrites the default one
+     * @param checkpoint The position to continue reading at
+     * @throws IOException              if the file cannot be opened or read
+     * @throws IllegalArgumentException if the charset, field separator or text
+     *                                  qualifier do not allow reading raw bytes
+     */
+    public CSVFileReader(final Path inputFile, final Charset charset, final char sep, final char qual,
+      final Checkpoint checkpoint) throws IOException {
+        this(FileChannel.open(inputFile, StandardOpenOption.READ), charset, sep, qual);
+        resume(checkpoint);
+    }
 
-        return fields;
+    /**
+     * CSVFileReader constructor reading a channel, which is closed by {@link #close()}.
+     *
+     * @param channel The channel to read from its start on
+     * @param charset The charset of the data
+     * @param sep     The field separator to be used
+     * @param qual    The text qualifier to be used
+     */
+    CSVFileReader(final FileChannel channel, final Charset charset, final char sep, final char qual) {
+        this(new ChannelInputStream(channel, 0), charset, sep, qual);
+        streamChannel = channel;
     }
 
     /**
-     * Checks whether the current input line field is quoted.
+     * Moves a reader created on a channel to a checkpoint; closes the reader on failure.
      *
-     * @param i Offset into the input line denoting start of field
-     * @return false if the field is not quoted or EOL is reached
+     * @param checkpoint The position to continue reading at
+     * @throws IOException if the header cannot be read
      */
-    protected boolean fieldIsQuoted(final int i) {
-        if (i >= line.length()) {
-            return false;
+    final void resume(final Checkpoint checkpoint) throws IOException {
+        try {
+            if (!byteScanning() || !scansRows()) {
+                throw new IllegalArgumentException("resuming needs a reader scanning raw bytes");
+            }
+            if ((checkpoint.flags & Checkpoint.HEADER) != 0 && readHeader() == null) {
+                throw new IOException("file changed since the checkpoint: no header");
+            }
+            ((ChannelInputStream) bytes.src).seek(checkpoint.offset);
+            restartBytes(checkpoint.offset);
+            skipLF = (checkpoint.flags & Checkpoint.SKIP_LF) != 0;
+            positionAt(checkpoint.row);
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
         }
-        return line.charAt(i) == textQualifier;
     }
 
     /**
-     * Adds extracted field to list of fields.
+     * Counts the rows before the input position as read, for a reader
+     * started in the middle of the file, so that row numbers and
+     * checkpoints continue from there.
      *
-     * Child classes can override to add post-processing.
+     * @param row number of rows before the input position
+     */
+    final void positionAt(final long row) {
+        rowsRead = row;
+        rowNumber = row;
+    }
+
+    /**
+     * Sets metrics recording the rows read from now on, see {@link CSVMetrics}.
      *
-     * @param fields list of fields to add field to
-     * @param field  raw extracted String
+     * For readers scanning raw bytes, bytes are counted, otherwise characters.
+     * Quoted fields are not recognised by subclasses overriding the line-based
+     * parsing hooks. Rows skipped by a filter are not counted.
+     *
+     * @param m the metrics, or null to stop recording
      */
-    protected void addField(final List<String> fields, final String field) {
-        fields.add(field);
+    public void setMetrics(final CSVMetrics m) {
+        metrics = m;
     }
 
     /**
-     * Closes the input CSV file.
+     * Gets the metrics set by {@link #setMetrics(CSVMetrics)}.
      *
-     * @throws IOException if an error occurs while closing the file
+     * @return the metrics, or null
      */
-    public void close() throws IOException {
-        in.close();
+    public CSVMetrics getMetrics() {
+        return metrics;
     }
 
     /**
-     * Handles a quoted field.
+     * Checks whether a subclass overrides {@link #readFields(String)} or the
+     * line-based parsing hooks; called during construction, so it may only
+     * look at the class.
      *
-     * Note: does not handle filler between closing char and end of field/line well.
+     * @return true if rows must be read through {@link #readFields(String)}
+     */
+    boolean hasLineHooks() {
+        return overridesLineHooks(CSVFileReader.class);
+    }
+
+    /**
+     * Checks whether the class of this reader overrides {@link #readFields(String)}
+     * or the line-based parsing hooks below a given class.
      *
-     * @param sb the {@link StringBuilder} to add the resulting field into
-     * @param i  the offset of the first supposed character of the field (past the quote)
-     * @return index of next separator
-     * @throws IOException if input cannot be read
+     * @param base the class whose own overrides do not count
+     * @return true if any of them is declared below base
      */
-    protected int handleQuotedField(final StringBuilder sb, final int i)
-      throws IOException {
-        int j;
-        int len = line.length();
-        for (j = i; j < len; j++) {
-            if (line.charAt(j) == textQualifier) {
-                // end quotes at end of line?
-                if (j + 1 == len) {
-                    // done
-                    break;
-                } else if (line.charAt(j + 1) == textQualifier) {
-                    // skip escape char
-                    j++;
-                } else if (line.charAt(j + 1) == fieldSeparator) {
-                    // next delimiter: skip end quotes
-                    j++;
-                    break;
-                }
-            }
-            // regular character
-            sb.append(line.charAt(j));
-        }
-        if (j >= len) {
-            line = in.readLine();
-            if (line == null) {
-                line = String.valueOf(textQualifier);
-                return 0;
-            }
-            sb.append('\n');
-            return handleQuotedField(sb, 0);
-        }
-        return j;
+    final boolean overridesLineHooks(final Class<?> base) {
+        final Class<?> c = getClass();
+        return overrides(c, base, "readFields", String.class) ||
+          overrides(c, base, "fieldIsQuoted", int.class) ||
+          overrides(c, base, "handleQuotedField", StringBuilder.class, int.class) ||
+          overrides(c, base, "handlePlainField", StringBuilder.class, int.class);
     }
 
     /**
-     * Handles an unquoted field.
+     * Checks whether a subclass overrides the parsing hooks or postprocesses
+     * fields; called during construction, so it may only look at the class.
      *
-     * @param sb the {@link StringBuilder} to add the resulting field into
-     * @param i  the offset of the first supposed character of the field
-     * @return index of next separator
+     * @return true if rows must be read through {@link #readFields()}
      */
-    protected int handlePlainField(final StringBuilder sb, final int i) {
-        // look for separator
-        int j = line.indexOf(fieldSeparator, i);
-        if (j == -1) {
-            // none found
-            sb.append(line.substring(i));
-            return line.length();
-        } else {
-            sb.append(line, i, j);
-            return j;
+    boolean hasFieldHooks() {
+        return lineHooks || overridesFieldHooks(CSVFileReader.class);
+    }
+
+    /**
+     * Checks whether the class of this reader overrides {@link #readFields()}
+     * or {@link #addField(List, String)} below a given class.
+     *
+     * @param base the class whose own overrides do not count
+     * @return true if any of them is declared below base
+     */
+    final boolean overridesFieldHooks(final Class<?> base) {
+        final Class<?> c = getClass();
+        return overrides(c, base, "readFields") ||
+          overrides(c, base, "addField", List.class, String.class);
+    }
+
+    /**
+     * Checks whether rows are read by {@link #scanRow()}, so the byte window
+     * is positioned after the current row, rather than the line-based hooks.
+     *
+     * @return true unless a subclass overrides {@link #readFields(String)}
+     *         or the line-based parsing hooks
+     */
+    boolean scansRows() {
+        return !lineHooks;
+    }
+
+    /**
+     * Takes a checkpoint after the rows read so far, from which reading
+     * can be resumed by {@link #CSVFileReader(Path, Charset, char, char, Checkpoint)}
+     * or {@link SSVFileReader#SSVFileReader(Path, Checkpoint)}, even in
+     * another process after the token from {@link Checkpoint#toString()}
+     * was stored. The rows skipped by a filter count as not read.
+     *
+     * Only readers scanning raw bytes, that is, reading an InputStream or a
+     * file named by String in UTF-8 or an ASCII-compatible single-byte
+     * charset, without prefetching, know the offset of the next row.
+     *
+     * @return the checkpoint
+     * @throws IllegalStateException if the reader does not scan raw bytes
+     */
+    public Checkpoint getCheckpoint() {
+        if (!byteScanning() || !scansRows()) {
+            throw new IllegalStateException("checkpoints need a reader scanning raw bytes");
+        }
+        return new Checkpoint(bytes.offset + bytes.pos, rowsRead,
+          (skipLF ? Checkpoint.SKIP_LF : 0) | (header != null ? Checkpoint.HEADER : 0));
+    }
+
+    /**
+     * Looks up a charset the way {@link InputStreamReader} does.
+     *
+     * @param charsetName The name of a supported charset
+     * @return the charset
+     * @throws UnsupportedEncodingException if the named charset is not supported
+     */
+    private static Charset charsetForName(final String charsetName)
+      throws UnsupportedEncodingException {
+        if (charsetName == null) {
+            throw new NullPointerException("charsetName");
+        }
+        try {
+            return Charset.forName(charsetName);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedEncodingException(charsetName);
+        }
+    }
+
+    /**
+     * CSVFileReader constructor memory-mapping an existing CSV file to read.
+     *
+     * The file is mapped (in chunks, so it may be larger than 2 GiB) and
+     * decoded directly into the reader’s buffer instead of being read
+     * through a chain of buffered streams.
+     *
+     * @param inputFile The CSV file to be mapped for reading
+     * @param charset   The charset of the file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public CSVFileReader(final Path inputFile, final Charset charset)
+      throws IOException {
+        this(inputFile, charset, DEFAULT_FIELD_SEPARATOR);
+    }
+
+    /**
+     * CSVFileReader constructor memory-mapping an existing CSV file to read
+     * with a given field separator.
+     *
+     * @param inputFile The CSV file to be mapped for reading
+     * @param charset   The charset of the file
+     * @param sep       The field separator to be used; overwrites the default one
+     * @throws IOException if the file cannot be opened or mapped
+     * @see #CSVFileReader(Path, Charset)
+     */
+    public CSVFileReader(final Path inputFile, final Charset charset, final char sep)
+      throws IOException {
+        this(inputFile, charset, sep, DEFAULT_TEXT_QUALIFIER);
+    }
+
+    /**
+     * CSVFileReader constructor memory-mapping an existing CSV file to read
+     * with given field separator and text qualifier.
+     *
+     * @param inputFile The CSV file to be mapped for reading
+     * @param charset   The charset of the file
+     * @param sep       The field separator to be used; overwrites the default one
+     * @param qual      The text qualifier to be used; overwrites the default one
+     * @throws IOException if the file cannot be opened or mapped
+     * @see #CSVFileReader(Path, Charset)
+     */
+    public CSVFileReader(final Path inputFile, final Charset charset, final char sep, final char qual)
+      throws IOException {
+        this(new MappedFileReader(inputFile, charset), sep, qual);
+        sourceFile = inputFile;
+        sourceCharset = charset;
+    }
+
+    /**
+     * Records the file read, for {@link #spliterator()}.
+     *
+     * @param inputFileName The name of the file
+     * @param charset       The charset of the file
+     */
+    final void fileSource(final String inputFileName, final Charset charset) {
+        try {
+            sourceFile = Paths.get(inputFileName);
+        } catch (InvalidPathException e) {
+            // opened fine but not as Path; just won’t be split
+            return;
+        }
+        sourceCharset = charset;
+    }
+
+    /**
+     * Splits the next line of the input CSV file into fields.
+     *
+     * This is currently the most important function of the package.
+     * It continues reading past the end of the physical line if necessary
+     * due to a newline inside a quoted field.
+     *
+     * The input is scanned in a single pass over a reusable character window;
+     * subclasses overriding {@link #readFields(String)}, {@link #fieldIsQuoted(int)},
+     * {@link #handleQuotedField(StringBuilder, int)} or {@link #handlePlainField(StringBuilder, int)}
+     * are served line by line through {@link #readFields(String)} instead so their hooks are called.
+     *
+     * @return List of String containing each field from the next line of the file
+     * @throws IOException if an error occurs while reading the new line from the file
+     */
+    public List<String> readFields() throws IOException {
+        row = null;
+        if (lineHooks) {
+            final CSVMetrics m = metrics;
+            final long t0 = m == null ? 0 : System.nanoTime();
+            List<String> fields;
+            while ((fields = readFields(nextLine())) != null && !filterAccepts(fields)) {
+                // skip
+            }
+            if (m != null) {
+                if (fields == null) {
+                    m.publish();
+                } else {
+                    int multi = 0;
+                    for (final String f : fields) {
+                        if (f.indexOf('\n') != -1 || f.indexOf('\r') != -1) {
+                            ++multi;
+                        }
+                    }
+                    m.row(fields.size(), 0, multi, System.nanoTime() - t0);
+                }
+            }
+            return projectList(fields);
+        }
+        return scanProjected() ? rowFields() : null;
+    }
+
+    /**
+     * Reads the next row of the input CSV file as header, naming the columns
+     * for {@link #getColumnIndex(String)} and {@link #setProjection(String...)};
+     * usually called first. Any projection or filter is not applied to the header.
+     *
+     * @return the column names, or null if EOF was reached
+     * @throws IOException if an error occurs while reading from the file
+     */
+    public List<String> readHeader() throws IOException {
+        final int[] p = projection;
+        final FieldFilter f = filter;
+        final long n = rowsRead;
+        projection = null;
+        filter = null;
+        final List<String> names;
+        try {
+            names = readFields();
+        } finally {
+            projection = p;
+            filter = f;
+            rowsRead = n;
+        }
+        if (names == null) {
+            return null;
+        }
+        header = Collections.unmodifiableList(names);
+        columnIndex = new HashMap<>(names.size() * 2);
+        for (int k = 0; k < names.size(); ++k) {
+            // the first of duplicate names wins
+            columnIndex.putIfAbsent(names.get(k), k);
+        }
+        return header;
+    }
+
+    /**
+     * Gets the column names read by {@link #readHeader()}.
+     *
+     * @return unmodifiable list of the column names, or null if no header was read
+     */
+    public List<String> getHeader() {
+        return header;
+    }
+
+    /**
+     * Looks up a column by the name in the header read by {@link #readHeader()}.
+     *
+     * @param name of the column
+     * @return index of the column, starting at 0, or -1 if there is no such column
+     * @throws IllegalStateException if no header was read
+     */
+    public int getColumnIndex(final String name) {
+        if (columnIndex == null) {
+            throw new IllegalStateException("no header read");
+        }
+        final Integer k = columnIndex.get(name);
+        return k == null ? -1 : k;
+    }
+
+    /**
+     * Restricts the rows read by {@link #readFields()}, {@link #nextRow()}
+     * and {@link #readBlock(RowBlock)} to some columns, in the given order;
+     * a column beyond the end of a row reads as empty field.
+     *
+     * The other fields are only located, not copied into Strings and, when
+     * scanning raw bytes, not even decoded, which makes reading a few
+     * columns of wide files much faster. Projected files are not split
+     * by {@link #spliterator()}.
+     *
+     * @param columns indices of the columns, starting at 0, or null for all columns
+     */
+    public void setProjection(final int... columns) {
+        if (columns == null) {
+            projection = null;
+            projected = null;
+            return;
+        }
+        int max = -1;
+        for (final int c : columns) {
+            if (c < 0) {
+                throw new IllegalArgumentException("invalid column: " + c);
+            }
+            max = Math.max(max, c);
+        }
+        projected = new boolean[max + 1];
+        for (final int c : columns) {
+            projected[c] = true;
+        }
+        projection = columns.clone();
+        if (pbeg == null) {
+            pbeg = new int[FIELDS_SIZE];
+            pend = new int[FIELDS_SIZE];
+        }
+    }
+
+    /**
+     * Restricts the rows read to some columns, named in the header read
+     * by {@link #readHeader()}, in the given order.
+     *
+     * @param names of the columns
+     * @throws IllegalStateException    if no header was read
+     * @throws IllegalArgumentException if a column is not in the header
+     * @see #setProjection(int...)
+     */
+    public void setProjection(final String... names) {
+        final int[] columns = new int[names.length];
+        for (int k = 0; k < names.length; ++k) {
+            columns[k] = getColumnIndex(names[k]);
+            if (columns[k] == -1) {
+                throw new IllegalArgumentException("no such column: " + names[k]);
+            }
+        }
+        setProjection(columns);
+    }
+
+    /**
+     * Sets a filter skipping rows whose field in a column it rejects; the
+     * rows skipped are not returned by {@link #readFields()}, {@link #nextRow()}
+     * or {@link #readBlock(RowBlock)}. A column beyond the end of a row is
+     * tested as empty field.
+     *
+     * The filter is applied to the field in the internal buffer as soon as
+     * the row is delimited, before any other field is copied into a String
+     * or, when scanning raw bytes, even decoded, so rejected rows cost little
+     * more than finding their end. It sees the field unescaped but, for SSV,
+     * with embedded newlines still as CR. Readers using the line-based hooks
+     * apply it to the finished row instead. Filtered files are not split by
+     * {@link #spliterator()}.
+     *
+     * <pre>{@code
+     * r.setFilter(3, CSVFileReader.FieldFilter.equalTo("DE"));
+     * }</pre>
+     *
+     * @param column index of the column to test, starting at 0, before any projection
+     * @param test   the filter, or null to read all rows
+     */
+    public void setFilter(final int column, final FieldFilter test) {
+        if (column < 0) {
+            throw new IllegalArgumentException("invalid column: " + column);
+        }
+        filterColumn = column;
+        filter = test;
+    }
+
+    /**
+     * Sets a filter skipping rows whose field in a column, named in the
+     * header read by {@link #readHeader()}, it rejects.
+     *
+     * @param name of the column to test
+     * @param test the filter, or null to read all rows
+     * @throws IllegalStateException    if no header was read
+     * @throws IllegalArgumentException if the column is not in the header
+     * @see #setFilter(int, FieldFilter)
+     */
+    public void setFilter(final String name, final FieldFilter test) {
+        final int k = getColumnIndex(name);
+        if (k == -1) {
+            throw new IllegalArgumentException("no such column: " + name);
+        }
+        setFilter(k, test);
+    }
+
+    /**
+     * Reads all columns again after {@link #setProjection(int...)}.
+     */
+    public void clearProjection() {
+        setProjection((int[]) null);
+    }
+
+    /**
+     * Scans the next row accepted by the filter, if any, like {@link #scanRow()},
+     * then restricts it to the projected columns, if any.
+     *
+     * @return false if EOF was reached (there is no current row then)
+     * @throws IOException if input cannot be read
+     */
+    final boolean scanProjected() throws IOException {
+        final CSVMetrics m = metrics;
+        final long t0 = m == null ? 0 : System.nanoTime();
+        do {
+            filterChecked = false;
+            filterRejected = false;
+            if (!scanRow()) {
+                if (m != null) {
+                    m.publish();
+                }
+                return false;
+            }
+            if (filter != null && !filterChecked) {
+                final int k = filterColumn;
+                filterRejected = k < nf ? !filter.accept(buf, fbeg[k], fend[k] - fbeg[k]) :
+                  !filter.accept(buf, 0, 0);
+            }
+        } while (filterRejected);
+        ++rowsRead;
+        if (m != null) {
+            if (bytes == null) {
+                countFields();
+            }
+            m.row(nf, rowQuoted, rowMultiLine, System.nanoTime() - t0);
+        }
+        if (projection != null) {
+            projectRow();
+        }
+        return true;
+    }
+
+    /**
+     * Rearranges the field offset tables of the current row to hold only
+     * the projected columns.
+     */
+    private void projectRow() {
+        final int[] p = projection;
+        if (pbeg.length < p.length) {
+            pbeg = new int[p.length];
+            pend = new int[p.length];
+        }
+        final int[] b = pbeg;
+        final int[] e = pend;
+        for (int k = 0; k < p.length; ++k) {
+            final int c = p[k];
+            if (c < nf) {
+                b[k] = fbeg[c];
+                e[k] = fend[c];
+            } else {
+                b[k] = e[k] = 0;
+            }
+        }
+        pbeg = fbeg;
+        pend = fend;
+        fbeg = b;
+        fend = e;
+        nf = p.length;
+    }
+
+    /**
+     * Applies the filter, if any, to a row read through {@link #readFields(String)}.
+     *
+     * @param fields all fields of the row
+     * @return true if the row is to be read
+     */
+    private boolean filterAccepts(final List<String> fields) {
+        if (filter == null) {
+            return true;
+        }
+        final char[] c = filterColumn < fields.size() ? fields.get(filterColumn).toCharArray() : new char[0];
+        return filter.accept(c, 0, c.length);
+    }
+
+    /**
+     * Restricts a row read through {@link #readFields(String)} to the
+     * projected columns, if any.
+     *
+     * @param fields all fields of the row, or null
+     * @return the projected fields
+     */
+    private List<String> projectList(final List<String> fields) {
+        if (projection == null || fields == null) {
+            return fields;
+        }
+        final List<String> r = new ArrayList<>(projection.length);
+        for (final int c : projection) {
+            r.add(c < fields.size() ? fields.get(c) : "");
+        }
+        return r;
+    }
+
+    /**
+     * Copies the fields of the current row, as scanned by {@link #scanRow()},
+     * into a new list through {@link #addField(List, String)}.
+     *
+     * @return List of String containing each field of the current row
+     */
+    List<String> rowFields() {
+        final List<String> fields = new ArrayList<>(nf);
+        for (int k = 0; k < nf; ++k) {
+            addField(fields, new String(buf, fbeg[k], fend[k] - fbeg[k]));
+        }
+        return fields;
+    }
+
+    /**
+     * Splits the next line of the input CSV file into fields.
+     *
+     * This is currently the most important function of the package.
+     * It can read a subsequent line from the input stream if necessary
+     * due to a newline inside a quoted field.
+     *
+     * @param firstLine result of in.readLine() if called by parent for preparation
+     *                  already (can only happen if instantiated with a BufferedReader)
+     * @return List of String containing each field from the next line of the file
+     * @throws IOException if an error occurs while reading the new line from the file
+     */
+    public List<String> readFields(final String firstLine) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        line = firstLine;
+        if (line == null) {
+            return null;
+        }
+
+        int i = 0;
+        do {
+            sb.setLength(0);
+            if (fieldIsQuoted(i)) {
+                i = handleQuotedField(sb, /* skip quote */ ++i);
+            } else {
+                i = handlePlainField(sb, i);
+            }
+            addField(fields, sb.toString());
+            i++;
+        } while (i < line.length());
+
+        return fields;
+    }
+
+    /**
+     * Advances the cursor to the next row of the input CSV file.
+     *
+     * This is an alternative to {@link #readFields()} that does not copy the
+     * fields: they are accessed through {@link #getField(int)} as views into
+     * the internal buffer, or copied on demand by {@link #getFieldString(int)}.
+     * No objects are allocated per row once the buffers have grown to size.
+     * Subclasses that postprocess fields are served through {@link #readFields()}.
+     *
+     * @return false if EOF was reached (there is no current row then)
+     * @throws IOException if an error occurs while reading from the file
+     */
+    public boolean nextRow() throws IOException {
+        final boolean found;
+        if (fieldHooks) {
+            row = readFields();
+            found = row != null;
+        } else {
+            row = null;
+            found = scanProjected();
+            if (found && !cursorRow()) {
+                // the fields cannot be viewed in place
+                row = rowFields();
+            }
+        }
+        if (found) {
+            ++rowNumber;
+        }
+        return found;
+    }
+
+    /**
+     * Gets the number of the current row of the cursor, for error messages.
+     *
+     * @return number of rows advanced to with {@link #nextRow()}, starting at 1
+     */
+    public long getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * Reads the next rows of the input CSV file into a block, replacing
+     * its previous contents, until the block is full or EOF is reached.
+     *
+     * Like {@link #nextRow()}, this does not allocate per row once the
+     * block has grown to size; subclasses that postprocess fields are
+     * served through {@link #readFields()}. Afterwards, there is no
+     * current row for the cursor.
+     *
+     * @param block to fill, usually reused across calls
+     * @return the number of rows read, 0 on EOF
+     * @throws IOException if an error occurs while reading from the file
+     */
+    public int readBlock(final RowBlock block) throws IOException {
+        block.clear();
+        row = null;
+        if (fieldHooks) {
+            List<String> fields;
+            while (!block.isFull() && (fields = readFields()) != null) {
+                for (int k = 0; k < fields.size(); ++k) {
+                    block.addField(k, fields.get(k));
+                }
+                block.endRow(fields.size());
+            }
+        } else {
+            while (!block.isFull() && scanProjected()) {
+                for (int k = 0; k < nf; ++k) {
+                    blockField(block, k);
+                }
+                block.endRow(nf);
+            }
+            nf = 0;
+        }
+        return block.getRowCount();
+    }
+
+    /**
+     * Prepares the fields of the current row, as scanned by {@link #scanRow()},
+     * for the cursor in place; the equivalent of {@link #addField(List, String)}.
+     *
+     * @return false if the row must be copied through {@link #rowFields()} instead
+     */
+    boolean cursorRow() {
+        return true;
+    }
+
+    /**
+     * Adds a field of the current row, as scanned by {@link #scanRow()},
+     * to a block; the equivalent of {@link #addField(List, String)}.
+     *
+     * @param block to add the field to
+     * @param k     index of the field
+     */
+    void blockField(final RowBlock block, final int k) {
+        block.addField(k, buf, fbeg[k], fend[k] - fbeg[k]);
+    }
+
+    /**
+     * Gets the number of fields in the current row.
+     *
+     * @return number of fields, 0 if there is no current row
+     */
+    public int getFieldCount() {
+        return row != null ? row.size() : nf;
+    }
+
+    /**
+     * Gets the length of a field of the current row.
+     *
+     * @param i index of the field, starting at 0
+     * @return number of characters in the field
+     */
+    public int getFieldLength(final int i) {
+        if (row != null) {
+            return row.get(i).length();
+        }
+        checkFieldIndex(i);
+        return fend[i] - fbeg[i];
+    }
+
+    /**
+     * Gets a field of the current row as view into the internal buffer.
+     *
+     * The returned view is only valid until the cursor is advanced or the
+     * next row is read by any other means; it is reused for the same field
+     * index of later rows. Use {@link #getFieldString(int)} (or toString()
+     * on the view) to keep the contents.
+     *
+     * @param i index of the field, starting at 0
+     * @return the field contents
+     */
+    public CharSequence getField(final int i) {
+        if (row != null) {
+            return row.get(i);
+        }
+        checkFieldIndex(i);
+        if (i >= views.length) {
+            final FieldView[] nviews = Arrays.copyOf(views, fbeg.length);
+            for (int k = views.length; k < nviews.length; ++k) {
+                nviews[k] = new FieldView(k);
+            }
+            views = nviews;
+        }
+        return views[i];
+    }
+
+    /**
+     * Gets a copy of a field of the current row.
+     *
+     * @param i index of the field, starting at 0
+     * @return the field contents
+     */
+    public String getFieldString(final int i) {
+        if (row != null) {
+            return row.get(i);
+        }
+        checkFieldIndex(i);
+        return new String(buf, fbeg[i], fend[i] - fbeg[i]);
+    }
+
+    /**
+     * Parses a field of the current row as {@code int}, like
+     * {@link Integer#parseInt(String)} does, directly from the internal
+     * buffer. An empty field is no number; check {@link #getFieldLength(int)}
+     * first if fields may be empty.
+     *
+     * @param i index of the field, starting at 0
+     * @return the value
+     * @throws NumberFormatException if the field is no int; the message
+     *                               contains the row and column (from 1)
+     */
+    public int getInt(final int i) {
+        final long v = getLong(i);
+        if (v < Integer.MIN_VALUE || v > Integer.MAX_VALUE) {
+            throw new NumberFormatException(fieldError(i, "integer out of range"));
+        }
+        return (int) v;
+    }
+
+    /**
+     * Parses a field of the current row as {@code long}, like
+     * {@link Long#parseLong(String)} does, directly from the internal buffer.
+     *
+     * @param i index of the field, starting at 0
+     * @return the value
+     * @throws NumberFormatException if the field is no long; the message
+     *                               contains the row and column (from 1)
+     */
+    public long getLong(final int i) {
+        try {
+            return FieldParser.parseLong(fieldChars(i), fieldOffset(i), getFieldLength(i));
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException(fieldError(i, e.getMessage()));
+        }
+    }
+
+    /**
+     * Parses a field of the current row as {@code double}, like
+     * {@link Double#parseDouble(String)} does; common decimal notations
+     * are parsed directly from the internal buffer.
+     *
+     * @param i index of the field, starting at 0
+     * @return the value
+     * @throws NumberFormatException if the field is no number; the message
+     *                               contains the row and column (from 1)
+     */
+    public double getDouble(final int i) {
+        try {
+            return FieldParser.parseDouble(fieldChars(i), fieldOffset(i), getFieldLength(i));
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException(fieldError(i, "not a number"));
+        }
+    }
+
+    /**
+     * Parses a field of the current row as {@link BigDecimal}, like
+     * {@link BigDecimal#BigDecimal(String)} does, directly from the internal buffer.
+     *
+     * @param i index of the field, starting at 0
+     * @return the value
+     * @throws NumberFormatException if the field is no number; the message
+     *                               contains the row and column (from 1)
+     */
+    public BigDecimal getBigDecimal(final int i) {
+        try {
+            return new BigDecimal(fieldChars(i), fieldOffset(i), getFieldLength(i));
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException(fieldError(i, "not a number"));
+        }
+    }
+
+    /**
+     * Parses a field of the current row as {@code boolean}, which must be
+     * true or false (ignoring case), unlike {@link Boolean#parseBoolean(String)}.
+     *
+     * @param i index of the field, starting at 0
+     * @return the value
+     * @throws IllegalArgumentException if the field is no boolean; the
+     *                                  message contains the row and column (from 1)
+     */
+    public boolean getBoolean(final int i) {
+        try {
+            return FieldParser.parseBoolean(fieldChars(i), fieldOffset(i), getFieldLength(i));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(fieldError(i, e.getMessage()));
+        }
+    }
+
+    /**
+     * Parses a field of the current row as ISO 8601 date (yyyy-mm-dd),
+     * like {@link LocalDate#parse(CharSequence)} does; the common form
+     * is parsed directly from the internal buffer.
+     *
+     * @param i index of the field, starting at 0
+     * @return the date
+     * @throws DateTimeParseException if the field is no valid date; the
+     *                                message contains the row and column (from 1)
+     */
+    public LocalDate getLocalDate(final int i) {
+        try {
+            return FieldParser.parseDate(fieldChars(i), fieldOffset(i), getFieldLength(i));
+        } catch (DateTimeException e) {
+            throw new DateTimeParseException(fieldError(i, "not a date"),
+              getFieldString(i), 0, e);
+        }
+    }
+
+    /**
+     * Gets the characters of a field of the current row; with
+     * {@link #fieldOffset(int)} and {@link #getFieldLength(int)}.
+     */
+    private char[] fieldChars(final int i) {
+        if (row != null) {
+            return row.get(i).toCharArray();
+        }
+        checkFieldIndex(i);
+        return buf;
+    }
+
+    private int fieldOffset(final int i) {
+        return row != null ? 0 : fbeg[i];
+    }
+
+    private String fieldError(final int i, final String what) {
+        return String.format("row %d, column %d: %s: \"%s\"", rowNumber, i + 1,
+          what, getFieldString(i));
+    }
+
+    private void checkFieldIndex(final int i) {
+        if (i < 0 || i >= nf) {
+            throw new IndexOutOfBoundsException(String.format("field %d of %d", i, nf));
+        }
+    }
+
+    /**
+     * View on a field of the current row in the internal buffer.
+     */
+    private final class FieldView implements CharSequence {
+        private final int k;
+
+        private FieldView(final int k) {
+            this.k = k;
+        }
+
+        @Override
+        public int length() {
+            return fend[k] - fbeg[k];
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= length()) {
+                throw new IndexOutOfBoundsException(String.valueOf(index));
+            }
+            return buf[fbeg[k] + index];
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            if (start < 0 || end > length() || start > end) {
+                throw new IndexOutOfBoundsException(String.format("[%d, %d)", start, end));
+            }
+            return new String(buf, fbeg[k] + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buf, fbeg[k], length());
+        }
+    }
+
+    /**
+     * Checks whether the current input line field is quoted.
+     *
+     * @param i Offset into the input line denoting start of field
+     * @return false if the field is not quoted or EOL is reached
+     */
+    protected boolean fieldIsQuoted(final int i) {
+        if (i >= line.length()) {
+            return false;
+        }
+        return line.charAt(i) == textQualifier;
+    }
+
+    /**
+     * Adds extracted field to list of fields.
+     *
+     * Child classes can override to add post-processing.
+     *
+     * @param fields list of fields to add field to
+     * @param field  raw extracted String
+     */
+    protected void addField(final List<String> fields, final String field) {
+        fields.add(field);
+    }
+
+    /**
+     * Closes the input CSV file.
+     *
+     * @throws IOException if an error occurs while closing the file
+     */
+    public void close() throws IOException {
+        if (metrics != null) {
+            metrics.publish();
+        }
+        try {
+            in.close();
+        } finally {
+            if (streamChannel != null) {
+                streamChannel.close();
+            }
+        }
+    }
+
+    /**
+     * Returns a {@link Spliterator} over the remaining rows, as
+     * {@link #readFields()} returns them; it can be traversed only once.
+     *
+     * If the reader was constructed from a file name or {@link Path} in
+     * UTF-8 or an ASCII-compatible single-byte charset, with ASCII field
+     * separator and text qualifier, and nothing has been read yet, the
+     * spliterator splits the file into chunks of bytes, as
+     * {@link ParallelCSVFileReader} does, so parallel streams parse the
+     * file on several cores; rows are still delivered in file order. The
+     * row counts and exact chunk boundaries are found by a fast parallel
+     * pass over the file the first time it is split, after which it is
+     * {@link Spliterator#SIZED}. Otherwise, and for subclasses overriding the
+     * parsing hooks, the rows are read sequentially (in batches of rows
+     * when split).
+     *
+     * Rows must be consumed either through the spliterator or through
+     * the reader, not both; {@link #close()} closes both.
+     *
+     * @return spliterator over the rows of the file
+     * @throws IOException           if the file cannot be opened for splitting
+     * @throws IllegalStateException if called more than once
+     */
+    public Spliterator<List<String>> spliterator() throws IOException {
+        if (streamed) {
+            throw new IllegalStateException("rows already are being streamed");
+        }
+        streamed = true;
+        if (splittable()) {
+            streamChannel = FileChannel.open(sourceFile, StandardOpenOption.READ);
+            return parallelReader().spliterator(streamChannel);
+        }
+        return Spliterators.spliteratorUnknownSize(new Iterator<List<String>>() {
+            private List<String> next = null;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = readFields();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public List<String> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final List<String> fields = next;
+                next = null;
+                return fields;
+            }
+        }, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    /**
+     * Returns a sequential {@link Stream} over the remaining rows, as
+     * {@link #readFields()} returns them; closing the stream closes the
+     * reader. Use {@link Stream#parallel()} to parse file-backed input
+     * on several cores, see {@link #spliterator()}.
+     *
+     * {@link IOException}s during traversal are thrown as
+     * {@link UncheckedIOException}.
+     *
+     * <pre>{@code
+     * try (Stream<List<String>> rows = new CSVFileReader(path, UTF_8).stream()) {
+     *     total = rows.parallel().mapToLong(r -> Long.parseLong(r.get(2))).sum();
+     * }
+     * }</pre>
+     *
+     * @return stream of the rows of the file
+     * @throws IOException           if the file cannot be opened for splitting
+     * @throws IllegalStateException if called more than once
+     */
+    public Stream<List<String>> stream() throws IOException {
+        return StreamSupport.stream(spliterator(), false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Checks whether {@link #spliterator()} can split the input file.
+     *
+     * @return true if the file is known and can be read in parallel
+     */
+    private boolean splittable() {
+        return sourceFile != null && !consumed && projection == null && filter == null &&
+          !fieldHooks && ByteWindow.supports(sourceCharset) &&
+          fieldSeparator <= 0x7F && textQualifier <= 0x7F;
+    }
+
+    /**
+     * Creates a parallel reader for the input file with the settings of this one.
+     *
+     * @return parallel reader for {@link #spliterator()}
+     */
+    ParallelCSVFileReader parallelReader() {
+        final int max = maxFieldSize;
+        return new ParallelCSVFileReader(sourceFile, sourceCharset, fieldSeparator, textQualifier) {
+            @Override
+            protected CSVFileReader newReader(final InputStream stream) {
+                final CSVFileReader r = super.newReader(stream);
+                r.setMaxFieldSize(max);
+                return r;
+            }
+        };
+    }
+
+    /**
+     * Gets the maximum size of a single field.
+     *
+     * @return maximum number of characters per field
+     */
+    public int getMaxFieldSize() {
+        return maxFieldSize;
+    }
+
+    /**
+     * Sets the maximum size of a single field.
+     *
+     * Reading a longer field, for example a quoted field whose closing
+     * text qualifier is missing, fails with an {@link IOException} once
+     * the limit is exceeded instead of buffering the remaining input.
+     *
+     * @param size maximum number of characters per field (default: unlimited)
+     */
+    public void setMaxFieldSize(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("maximum field size must be positive: " + size);
+        }
+        maxFieldSize = size;
+    }
+
+    /**
+     * Fails if a field (so far) exceeds the maximum field size.
+     *
+     * @param size number of characters in the field
+     * @throws IOException if size exceeds {@link #maxFieldSize}
+     */
+    void checkFieldSize(final int size) throws IOException {
+        if (size > maxFieldSize) {
+            throw new IOException(String.format("field exceeds maximum size of %d characters",
+              maxFieldSize));
+        }
+    }
+
+    /**
+     * Fails if a field (so far) in the byte window exceeds the maximum
+     * field size in characters, like {@link #checkFieldSize(int)}.
+     *
+     * @param from offset of the field in the byte window
+     * @param to   end of the field (so far) in the byte window
+     * @throws IOException if the field exceeds {@link #maxFieldSize}
+     */
+    private void checkFieldBytes(final int from, final int to) throws IOException {
+        // there are never more characters than bytes, so only count if needed
+        if (to - from > maxFieldSize) {
+            checkFieldSize(bytes.chars(from, to));
+        }
+    }
+
+    /**
+     * Handles a quoted field.
+     *
+     * Continuation lines (newlines inside the quoted field) are read
+     * iteratively, so the field may span any number of lines.
+     *
+     * Note: does not handle filler between closing char and end of field/line well.
+     *
+     * @param sb the {@link StringBuilder} to add the resulting field into
+     * @param i  the offset of the first supposed character of the field (past the quote)
+     * @return index of next separator
+     * @throws IOException if input cannot be read or the field exceeds {@link #getMaxFieldSize()}
+     */
+    protected int handleQuotedField(final StringBuilder sb, final int i)
+      throws IOException {
+        int j = i;
+        while (true) {
+            final int len = line.length();
+            for (; j < len; j++) {
+                if (line.charAt(j) == textQualifier) {
+                    // end quotes at end of line?
+                    if (j + 1 == len) {
+                        // done
+                        return j;
+                    } else if (line.charAt(j + 1) == textQualifier) {
+                        // skip escape char
+                        j++;
+                    } else if (line.charAt(j + 1) == fieldSeparator) {
+                        // next delimiter: skip end quotes
+                        return j + 1;
+                    }
+                }
+                // regular character
+                sb.append(line.charAt(j));
+            }
+            line = nextLine();
+            if (line == null) {
+                line = String.valueOf(textQualifier);
+                return 0;
+            }
+            sb.append('\n');
+            checkFieldSize(sb.length());
+            j = 0;
+        }
+    }
+
+    /**
+     * Handles an unquoted field.
+     *
+     * @param sb the {@link StringBuilder} to add the resulting field into
+     * @param i  the offset of the first supposed character of the field
+     * @return index of next separator
+     */
+    protected int handlePlainField(final StringBuilder sb, final int i) {
+        // look for separator
+        int j = line.indexOf(fieldSeparator, i);
+        if (j == -1) {
+            // none found
+            j = line.length();
+        }
+        sb.append(line, i, j);
+        return j;
+    }
+
+    /**
+     * Reads more input into the character window, keeping the current row from
+     * {@link #rowStart} on; compacts and grows the window as needed.
+     *
+     * All offsets into the window ({@link #pos}, {@link #rowStart} and
+     * the field tables including the slot for the field being scanned)
+     * are adjusted; callers must reload any copies kept in locals.
+     *
+     * @return false if EOF was reached and no more input is available
+     * @throws IOException if the underlying reader throws one
+     */
+    boolean fill() throws IOException {
+        // the reader reads ahead, so there is no going back to scanning bytes
+        bytes = null;
+        consumed = true;
+        if (eof) {
+            return false;
+        }
+        if (lim == buf.length) {
+            final int shift = rowStart;
+            final int keep = lim - shift;
+            final char[] nbuf = keep > buf.length / 2 ? new char[buf.length * 2] : buf;
+            System.arraycopy(buf, shift, nbuf, 0, keep);
+            buf = nbuf;
+            if (shift > 0) {
+                pos -= shift;
+                lim -= shift;
+                rowStart = 0;
+                final int n = Math.min(nf + 1, fbeg.length);
+                for (int k = 0; k < n; ++k) {
+                    fbeg[k] -= shift;
+                    fend[k] -= shift;
+                }
+            }
+        }
+        final CSVMetrics m = metrics;
+        final long t = m == null ? 0 : System.nanoTime();
+        final int n = in.read(buf, lim, buf.length - lim);
+        if (m != null) {
+            m.io(System.nanoTime() - t);
+            m.bytes(Math.max(n, 0));
+        }
+        if (n == -1) {
+            eof = true;
+            return false;
+        }
+        lim += n;
+        return true;
+    }
+
+    /**
+     * Returns the character at the scan position without consuming it.
+     *
+     * @return the next character, or -1 on EOF
+     * @throws IOException if input cannot be read
+     */
+    private int peek() throws IOException {
+        if (pos == lim && !fill()) {
+            return -1;
+        }
+        return buf[pos];
+    }
+
+    /**
+     * Begins a new row: discards the previous one from the window and
+     * skips a LF left over from a preceding CR.
+     *
+     * @return false if EOF was reached
+     * @throws IOException if input cannot be read
+     */
+    private boolean beginRow() throws IOException {
+        rowStart = pos;
+        nf = 0;
+        if (pos == lim && !fill()) {
+            return false;
+        }
+        if (skipLF) {
+            skipLF = false;
+            if (buf[pos] == '\n') {
+                rowStart = ++pos;
+                return pos < lim || fill();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Consumes the line terminator (CR, LF or CR-LF) at the scan position, if any.
+     *
+     * A LF after a CR is skipped lazily at the start of the next row so that
+     * we do not block on interactive input, like {@link BufferedReader#readLine()}.
+     */
+    private void endLine() {
+        if (pos < lim) {
+            if (buf[pos] == '\r') {
+                ++pos;
+                skipLF = true;
+            } else if (buf[pos] == '\n') {
+                ++pos;
+            }
+        }
+    }
+
+    /**
+     * Reads the next physical line for the line-based parser, the way
+     * {@link BufferedReader#readLine()} does.
+     *
+     * Input already in the window is used up first; after that, lines are
+     * read from {@link #in} directly, never ahead, so that callers mixing
+     * this with {@code readFields(in.readLine())} do not lose any rows.
+     *
+     * @return the line without its terminator, or null on EOF
+     * @throws IOException if input cannot be read
+     */
+    String nextLine() throws IOException {
+        nf = 0;
+        if (skipLF && pos < lim) {
+            skipLF = false;
+            if (buf[pos] == '\n') {
+                ++pos;
+            }
+        }
+        if (pos == lim) {
+            return readLine();
+        }
+        final char[] b = buf;
+        final int l = lim;
+        int p = pos;
+        while (p < l && b[p] != '\n' && b[p] != '\r') {
+            ++p;
+        }
+        final String s = new String(b, pos, p - pos);
+        pos = p;
+        if (p == l) {
+            // the rest of the line is not in the window
+            final String rest = readLine();
+            return rest == null ? s : s + rest;
+        }
+        endLine();
+        return s;
+    }
+
+    /**
+     * Reads the next line from {@link #in} directly, after the window is used up.
+     *
+     * @return the line without its terminator, or null on EOF
+     * @throws IOException if input cannot be read
+     */
+    private String readLine() throws IOException {
+        // the reader reads ahead, so there is no going back to scanning bytes
+        bytes = null;
+        consumed = true;
+        if (skipLF) {
+            // a CR ended the window
+            skipLF = false;
+            in.mark(1);
+            if (in.read() != '\n') {
+                in.reset();
+            }
+        }
+        final CSVMetrics m = metrics;
+        final long t = m == null ? 0 : System.nanoTime();
+        final String s = in.readLine();
+        if (m != null) {
+            m.io(System.nanoTime() - t);
+            // counting the line terminator as one character
+            m.bytes(s == null ? 0 : s.length() + 1);
+        }
+        return s;
+    }
+
+    /**
+     * Makes sure the field tables have a slot for field number {@link #nf}.
+     */
+    private void ensureFieldSlot() {
+        if (nf == fbeg.length) {
+            fbeg = Arrays.copyOf(fbeg, nf * 2);
+            fend = Arrays.copyOf(fend, nf * 2);
+        }
+        if (bbeg != null && nf == bbeg.length) {
+            bbeg = Arrays.copyOf(bbeg, nf * 2);
+            bend = Arrays.copyOf(bend, nf * 2);
+        }
+    }
+
+    /**
+     * Scans the next row from the window into the field tables.
+     *
+     * This is a single-pass state machine over the character window with
+     * exactly the semantics of the line-based parser: rows end at CR, LF
+     * or CR-LF; a separator directly before the end of a line does not
+     * start another field; a quoted field ends at a text qualifier that
+     * is followed by the separator or the end of the line; doubled text
+     * qualifiers are unescaped, other text qualifiers taken literally;
+     * line terminators inside quoted fields are converted to LF; EOF ends
+     * an unterminated quoted field. Quoted fields are unescaped in place.
+     *
+     * If possible, the row is scanned on the raw bytes, see {@link #scanBytes(boolean, boolean)}.
+     *
+     * @return false if EOF was reached before any input
+     * @throws IOException if input cannot be read
+     */
+    boolean scanRow() throws IOException {
+        if (byteScanning()) {
+            return scanBytes(false, true);
+        }
+        if (!beginRow()) {
+            return false;
+        }
+        final char sep = fieldSeparator;
+        final char qual = textQualifier;
+        while (true) {
+            ensureFieldSlot();
+            fbeg[nf] = pos;
+            // there is at least one character available here
+            final char c0 = buf[pos];
+            if (c0 == qual && c0 != '\n' && c0 != '\r') {
+                fbeg[nf] = fend[nf] = ++pos;
+                while (true) {
+                    final char[] b = buf;
+                    final int l = lim;
+                    int p = pos;
+                    int w = fend[nf];
+                    char c = 0;
+                    while (p < l) {
+                        c = b[p];
+                        if (c == qual || c == '\n' || c == '\r') {
+                            break;
+                        }
+                        b[w++] = c;
+                        ++p;
+                    }
+                    pos = p;
+                    fend[nf] = w;
+                    checkFieldSize(w - fbeg[nf]);
+                    if (p == l) {
+                        if (fill()) {
+                            continue;
+                        }
+                        // EOF inside quoted field ends it
+                        ++nf;
+                        return true;
+                    }
+                    ++pos;
+                    if (c == qual) {
+                        final int nc = peek();
+                        if (nc == -1 || nc == '\n' || nc == '\r') {
+                            // closing quote at end of line
+                            ++nf;
+                            endLine();
+                            return true;
+                        }
+                        if (nc == qual) {
+                            // escaped quote
+                            ++pos;
+                        } else if (nc == sep) {
+                            // closing quote before next field
+                            ++pos;
+                            break;
+                        }
+                        // regular character
+                        buf[fend[nf]++] = qual;
+                    } else {
+                        // newline inside quoted field
+                        if (c == '\r' && peek() == '\n') {
+                            ++pos;
+                        }
+                        if (peek() == -1) {
+                            ++nf;
+                            return true;
+                        }
+                        buf[fend[nf]++] = '\n';
+                    }
+                }
+            } else {
+                while (true) {
+                    final char[] b = buf;
+                    final int l = lim;
+                    int p = pos;
+                    while (p < l) {
+                        final char c = b[p];
+                        if (c == sep || c == '\n' || c == '\r') {
+                            break;
+                        }
+                        ++p;
+                    }
+                    pos = p;
+                    checkFieldSize(p - fbeg[nf]);
+                    if (p < l || !fill()) {
+                        break;
+                    }
+                }
+                fend[nf] = pos;
+                if (peek() != sep) {
+                    // end of line or EOF
+                    ++nf;
+                    endLine();
+                    return true;
+                }
+                ++pos;
+            }
+            ++nf;
+            // a separator at the end of the line does not start another field
+            final int c = peek();
+            if (c == -1 || c == '\n' || c == '\r') {
+                endLine();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Begins a new SSV line in the window: discards the previous one and
+     * skips the rest of a line cut off at a NUL.
+     *
+     * @return false if EOF was reached
+     * @throws IOException if input cannot be read
+     */
+    boolean beginSSVLine() throws IOException {
+        if (skipNUL) {
+            skipNUL = false;
+            while (true) {
+                rowStart = pos;
+                final char[] b = buf;
+                final int l = lim;
+                int p = pos;
+                while (p < l && b[p] != '\n') {
+                    ++p;
+                }
+                pos = p;
+                if (p < l) {
+                    ++pos;
+                    break;
+                }
+                if (!fill()) {
+                    break;
+                }
+            }
+        }
+        rowStart = pos;
+        nf = 0;
+        return pos < lim || fill();
+    }
+
+    /**
+     * Scans the next row from the character window into the field tables,
+     * in the syntax of {@link SSVFileReader}, which is that of
+     * {@link #scanBytes(boolean, boolean)} with SSV syntax.
+     *
+     * @return false if EOF was reached before any input
+     * @throws IOException if input cannot be read
+     */
+    boolean scanSSVRow() throws IOException {
+        if (!beginSSVLine()) {
+            return false;
+        }
+        final char sep = fieldSeparator;
+        while (true) {
+            ensureFieldSlot();
+            fbeg[nf] = pos;
+            while (true) {
+                final char[] b = buf;
+                final int l = lim;
+                int p = pos;
+                while (p < l) {
+                    final char c = b[p];
+                    if (c == sep || c == '\n' || c == 0) {
+                        break;
+                    }
+                    ++p;
+                }
+                pos = p;
+                checkFieldSize(p - fbeg[nf]);
+                if (p < l || !fill()) {
+                    break;
+                }
+            }
+            fend[nf] = pos;
+            ++nf;
+            int c = peek();
+            if (c == sep) {
+                ++pos;
+                // a separator at the end of the line does not start another field
+                c = peek();
+            }
+            if (c == -1 || c == '\n' || c == 0) {
+                if (c == '\n') {
+                    ++pos;
+                } else if (c == 0) {
+                    // skipped on the next call, the fields are still needed
+                    skipNUL = true;
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Checks whether rows are (still) scanned on the raw bytes, which needs
+     * field separator and text qualifier to be ASCII characters.
+     *
+     * @return true if {@link #bytes} is to be used
+     */
+    boolean byteScanning() {
+        if (bytes != null && (fieldSeparator > 0x7F || textQualifier > 0x7F)) {
+            // fall back to decoding the rest of the input
+            bytes = null;
+        }
+        return bytes != null;
+    }
+
+    /**
+     * Counts the quoted fields and those with newlines of the current row,
+     * scanned on the raw bytes, for {@link #metrics}. A quoted field starts
+     * right after a text qualifier, any other after a separator or at the
+     * start of the row; unquoted CSV fields cannot contain newlines, and
+     * SSV fields only contain them as CR.
+     */
+    private void countBytes() {
+        final byte[] b = bytes.buf;
+        final int start = bytes.rowStart;
+        final byte qual = (byte) textQualifier;
+        int quoted = 0;
+        int multi = 0;
+        for (int k = 0; k < nf; ++k) {
+            final int e = bend[k];
+            int i = bbeg[k];
+            if (i > start && b[i - 1] == qual) {
+                ++quoted;
+            }
+            while (i < e && b[i] != '\n' && b[i] != '\r') {
+                ++i;
+            }
+            if (i < e) {
+                ++multi;
+            }
+        }
+        rowQuoted = quoted;
+        rowMultiLine = multi;
+    }
+
+    /**
+     * Counts the quoted fields and those with newlines of the current row,
+     * scanned on the character window, like {@link #countBytes()}.
+     */
+    private void countFields() {
+        final char[] b = buf;
+        final int start = rowStart;
+        final char qual = textQualifier;
+        int quoted = 0;
+        int multi = 0;
+        for (int k = 0; k < nf; ++k) {
+            final int e = fend[k];
+            int i = fbeg[k];
+            if (i > start && b[i - 1] == qual) {
+                ++quoted;
+            }
+            while (i < e && b[i] != '\n' && b[i] != '\r') {
+                ++i;
+            }
+            if (i < e) {
+                ++multi;
+            }
+        }
+        rowQuoted = quoted;
+        rowMultiLine = multi;
+    }
+
+    /**
+     * Discards the byte window to continue scanning at a row boundary the
+     * caller has moved the underlying stream to.
+     *
+     * @param offset of that position in the stream (or file)
+     */
+    final void restartBytes(final long offset) {
+        final ByteWindow w = bytes;
+        w.pos = 0;
+        w.lim = 0;
+        w.rowStart = 0;
+        w.offset = offset;
+        w.eof = false;
+        skipLF = false;
+        nf = 0;
+    }
+
+    /**
+     * Reads more input into the byte window, keeping the current row;
+     * like {@link #fill()}, adjusts all offsets into the byte window.
+     *
+     * @return false if EOF was reached and no more input is available
+     * @throws IOException if the underlying stream throws one
+     */
+    private boolean fillBytes() throws IOException {
+        final ByteWindow w = bytes;
+        consumed = true;
+        if (w.eof) {
+            return false;
+        }
+        if (w.lim == w.buf.length) {
+            final int shift = w.rowStart;
+            final int keep = w.lim - shift;
+            final byte[] nbuf = keep > w.buf.length / 2 ? new byte[w.buf.length * 2] : w.buf;
+            System.arraycopy(w.buf, shift, nbuf, 0, keep);
+            w.buf = nbuf;
+            if (shift > 0) {
+                w.offset += shift;
+                w.pos -= shift;
+                w.lim -= shift;
+                w.rowStart = 0;
+                final int n = Math.min(nf + 1, bbeg.length);
+                for (int k = 0; k < n; ++k) {
+                    bbeg[k] -= shift;
+                    bend[k] -= shift;
+                }
+            }
+        }
+        final CSVMetrics m = metrics;
+        final long t = m == null ? 0 : System.nanoTime();
+        final int n = w.src.read(w.buf, w.lim, w.buf.length - w.lim);
+        if (m != null) {
+            m.io(System.nanoTime() - t);
+            m.bytes(Math.max(n, 0));
+        }
+        if (n == -1) {
+            w.eof = true;
+            return false;
+        }
+        w.lim += n;
+        return true;
+    }
+
+    /**
+     * Returns the byte at the scan position without consuming it.
+     *
+     * @return the next byte (signed), or 0x100 on EOF
+     * @throws IOException if input cannot be read
+     */
+    private int peekByte() throws IOException {
+        if (bytes.pos == bytes.lim && !fillBytes()) {
+            return 0x100;
+        }
+        return bytes.buf[bytes.pos];
+    }
+
+    /**
+     * Scans the next row on the raw bytes of the byte window, then decodes
+     * the field contents into the character buffer for {@link #fbeg} and
+     * {@link #fend}. The syntax is that of {@link #scanRow()} or, for SSV,
+     * that of {@link SSVFileReader}: no quoting, rows end at LF only, and
+     * the remainder of a row after a NUL is ignored.
+     *
+     * @param ssv    whether to use SSV instead of CSV syntax
+     * @param decode whether to decode the fields, or only locate the row
+     * @return false if EOF was reached before any input
+     * @throws IOException if input cannot be read
+     */
+    boolean scanBytes(final boolean ssv, final boolean decode) throws IOException {
+        final ByteWindow w = bytes;
+        w.rowStart = w.pos;
+        nf = 0;
+        if (w.pos == w.lim && !fillBytes()) {
+            return false;
+        }
+        if (skipLF) {
+            skipLF = false;
+            if (w.buf[w.pos] == '\n') {
+                w.rowStart = ++w.pos;
+                if (w.pos == w.lim && !fillBytes()) {
+                    return false;
+                }
+            }
+        }
+        rowOffset = w.offset + w.rowStart;
+        // values outside of the signed byte range never match
+        final int sep = fieldSeparator;
+        final int qual = ssv ? ByteScanner.NONE : textQualifier;
+        final int cr = ssv ? ByteScanner.NONE : '\r';
+        final int nul = ssv ? 0 : ByteScanner.NONE;
+        final ByteScanner scanner = w.scanner;
+        fields:
+        while (true) {
+            ensureFieldSlot();
+            bbeg[nf] = w.pos;
+            final int c0 = w.buf[w.pos];
+            if (c0 == qual && c0 != '\n' && c0 != cr) {
+                bbeg[nf] = bend[nf] = ++w.pos;
+                while (true) {
+                    final byte[] b = w.buf;
+                    final int l = w.lim;
+                    final int from = w.pos;
+                    final int p = scanner.find(b, from, l, qual, '\r', ByteScanner.NONE);
+                    int o = bend[nf];
+                    if (o != from) {
+                        // unescaping in place lags behind
+                        System.arraycopy(b, from, b, o, p - from);
+                    }
+                    o += p - from;
+                    final int c = p < l ? b[p] : 0;
+                    w.pos = p;
+                    bend[nf] = o;
+                    checkFieldBytes(bbeg[nf], o);
+                    if (p == l) {
+                        if (fillBytes()) {
+                            continue;
+                        }
+                        // EOF inside quoted field ends it
+                        ++nf;
+                        break fields;
+                    }
+                    ++w.pos;
+                    if (c == qual) {
+                        final int nc = peekByte();
+                        if (nc == 0x100 || nc == '\n' || nc == '\r') {
+                            // closing quote at end of line
+                            ++nf;
+                            break fields;
+                        }
+                        if (nc == qual) {
+                            // escaped quote
+                            ++w.pos;
+                        } else if (nc == sep) {
+                            // closing quote before next field
+                            ++w.pos;
+                            break;
+                        }
+                        // regular character
+                        w.buf[bend[nf]++] = (byte) qual;
+                    } else {
+                        // newline inside quoted field
+                        if (c == '\r' && peekByte() == '\n') {
+                            ++w.pos;
+                        }
+                        if (peekByte() == 0x100) {
+                            ++nf;
+                            break fields;
+                        }
+                        w.buf[bend[nf]++] = '\n';
+                    }
+                }
+            } else {
+                while (true) {
+                    final int p = scanner.find(w.buf, w.pos, w.lim, sep, cr, nul);
+                    w.pos = p;
+                    checkFieldBytes(bbeg[nf], p);
+                    if (p < w.lim || !fillBytes()) {
+                        break;
+                    }
+                }
+                bend[nf] = w.pos;
+                if (peekByte() != sep) {
+                    // end of line or EOF
+                    ++nf;
+                    break;
+                }
+                ++w.pos;
+            }
+            ++nf;
+            // a separator at the end of the line does not start another field
+            final int c = peekByte();
+            if (c == 0x100 || c == '\n' || c == cr || c == nul) {
+                break;
+            }
+        }
+        if (decode) {
+            decodeRow();
+            if (metrics != null) {
+                countBytes();
+            }
+        }
+        // consume the line terminator
+        final int c = peekByte();
+        if (c == '\n') {
+            ++w.pos;
+        } else if (c == '\r' && !ssv) {
+            ++w.pos;
+            skipLF = true;
+        } else if (c == 0 && ssv) {
+            // skip the remainder of the line after a NUL
+            while (true) {
+                w.rowStart = w.pos;
+                final int p = scanner.find(w.buf, w.pos, w.lim,
+                  ByteScanner.NONE, ByteScanner.NONE, ByteScanner.NONE);
+                w.pos = p;
+                if (p < w.lim) {
+                    ++w.pos;
+                    break;
+                }
+                if (!fillBytes()) {
+                    break;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Locates the next row on the raw bytes without decoding it, setting
+     * {@link #rowOffset}; used to count rows and find row boundaries.
+     *
+     * @return false if EOF was reached before any input
+     * @throws IOException if input cannot be read
+     */
+    boolean skipRow() throws IOException {
+        return scanBytes(false, false);
+    }
+
+    /**
+     * Decodes the fields of the current row from the byte window into
+     * the character buffer and sets up {@link #fbeg} and {@link #fend}.
+     */
+    private void decodeRow() {
+        if (filter != null) {
+            // test the filter column first, to not decode the rest if rejected
+            final int k = filterColumn;
+            final int n = k < nf ? bend[k] - bbeg[k] : 0;
+            if (n > buf.length) {
+                buf = new char[Math.max(n, buf.length * 2)];
+            }
+            final int e = n == 0 ? 0 : bytes.decode(bbeg[k], bend[k], buf, 0);
+            filterChecked = true;
+            if (!filter.accept(buf, 0, e)) {
+                filterRejected = true;
+                return;
+            }
+        }
+        final boolean[] want = projection == null ? null : projected;
+        final int n = want == null ? nf : Math.min(nf, want.length);
+        int size = 0;
+        for (int k = 0; k < n; ++k) {
+            if (want == null || want[k]) {
+                size += bend[k] - bbeg[k];
+            }
+        }
+        if (size > buf.length) {
+            buf = new char[Math.max(size, buf.length * 2)];
+        }
+        int c = 0;
+        for (int k = 0; k < nf; ++k) {
+            fbeg[k] = c;
+            if (k < n && (want == null || want[k])) {
+                c = bytes.decode(bbeg[k], bend[k], buf, c);
+            }
+            fend[k] = c;
         }
     }
 }
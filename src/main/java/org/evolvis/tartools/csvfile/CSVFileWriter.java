@@ -74,10 +74,12 @@ import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
-import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 
 /**
  * CSVFileWriter is a class derived from {@link CSVFile}
@@ -86,6 +88,12 @@ import java.nio.charset.StandardCharsets;
  * As of CSVFile 2.0, this will handle escaping fields whose contents contain the
  * field separator, text qualifier, carriage return and/or line feed properly.
  *
+ * When writing to an {@link OutputStream} or a {@link WritableByteChannel},
+ * rows are encoded as UTF-8 straight into a byte buffer, and errors writing
+ * to it are thrown as {@link UncheckedIOException}; when writing to a
+ * {@link Writer}, they are swallowed by the {@link PrintWriter} in between,
+ * as before, and can only be detected with its {@code checkError()}.
+ *
  * @author Fabrizio Fazzino
  */
 public class CSVFileWriter extends CSVFile {
@@ -94,11 +102,72 @@ public class CSVFileWriter extends CSVFile {
      */
     protected final PrintWriter out;
 
+    /**
+     * UTF-8 encoder under {@link #out} when writing bytes, or null.
+     */
+    final ByteWriter bytes;
+
     /**
      * Separator between rows (default: LF)
      */
     protected String rowSeparator = LF;
 
+    /**
+     * Initial size of the buffer rows are formatted into.
+     */
+    static final int ROW_BUFFER_SIZE = 8192;
+
+    /**
+     * Buffer the current row is formatted into before being written to {@link #out}.
+     */
+    char[] rowBuf = new char[ROW_BUFFER_SIZE];
+
+    /**
+     * End of the formatted data in {@link #rowBuf}.
+     */
+    int rowLen = 0;
+
+    /**
+     * Whether a row was begun with {@link #beginRow()} and not yet ended.
+     */
+    private boolean inRow = false;
+
+    /**
+     * Whether no field was written yet in the row begun with {@link #beginRow()}.
+     */
+    private boolean firstField = false;
+
+    /**
+     * Reused to format floating-point numbers.
+     */
+    private final StringBuilder numBuf = new StringBuilder(32);
+
+    /**
+     * Metrics to record, or null.
+     */
+    private CSVMetrics metrics = null;
+
+    /**
+     * Characters written, counted for {@link #metrics} when not writing bytes.
+     */
+    private long charsOut = 0;
+
+    /**
+     * Whether the current row is being recorded for {@link #metrics}.
+     */
+    private boolean rowTimed = false;
+    private long rowNanos;
+    private long rowBytes;
+    private int rowFields;
+    private int rowQuoted;
+    private int rowMultiLine;
+
+    /**
+     * Whether a subclass overrides {@link #prepareField(Object)}, so
+     * {@link #writeFields(Iterable)} must go through it.
+     */
+    private final boolean fieldHooks = hasFieldHooks();
+
     /**
      * CSVFileWriter constructor just needing the name of the CSV file that will be written.
      *
@@ -165,7 +234,92 @@ public class CSVFileWriter extends CSVFile {
      * @param qual   The text qualifier to be used; overwrites the default one
      */
     public CSVFileWriter(final OutputStream stream, final char sep, final char qual) {
-        this(new OutputStreamWriter(stream, StandardCharsets.UTF_8), sep, qual);
+        this(new ByteWriter(stream, ByteWriter.BUFFER_SIZE), sep, qual);
+    }
+
+    /**
+     * CSVFileWriter constructor with default values.
+     *
+     * The CSV file will be written in UTF-8 encoding.
+     *
+     * @param channel The {@link WritableByteChannel} to be opened for writing
+     */
+    public CSVFileWriter(final WritableByteChannel channel) {
+        this(channel, DEFAULT_FIELD_SEPARATOR, DEFAULT_TEXT_QUALIFIER);
+    }
+
+    /**
+     * CSVFileWriter constructor with given field separator and text qualifier.
+     *
+     * The CSV file will be written in UTF-8 encoding.
+     *
+     * @param channel The {@link WritableByteChannel} to be opened for writing
+     * @param sep     The field separator to be used; overwrites the default one
+     * @param qual    The text qualifier to be used; overwrites the default one
+     */
+    public CSVFileWriter(final WritableByteChannel channel, final char sep, final char qual) {
+        this(new ByteWriter(channel, ByteWriter.BUFFER_SIZE), sep, qual);
+    }
+
+    /**
+     * CSVFileWriter constructor writing a CSV file through a {@link FileChannel}.
+     *
+     * The CSV file will be written in UTF-8 encoding, in blocks of 1 MiB;
+     * an existing file is truncated.
+     *
+     * @param outputFile The CSV file to be opened for writing
+     * @throws IOException if an error occurs while creating the file
+     */
+    public CSVFileWriter(final Path outputFile) throws IOException {
+        this(outputFile, DEFAULT_FIELD_SEPARATOR, DEFAULT_TEXT_QUALIFIER);
+    }
+
+    /**
+     * CSVFileWriter constructor writing a CSV file through a {@link FileChannel}
+     * with given field separator and text qualifier.
+     *
+     * @param outputFile The CSV file to be opened for writing
+     * @param sep        The field separator to be used; overwrites the default one
+     * @param qual       The text qualifier to be used; overwrites the default one
+     * @throws IOException if an error occurs while creating the file
+     * @see #CSVFileWriter(Path)
+     */
+    public CSVFileWriter(final Path outputFile, final char sep, final char qual)
+      throws IOException {
+        this(outputFile, sep, qual, ByteWriter.FILE_BUFFER_SIZE);
+    }
+
+    /**
+     * CSVFileWriter constructor writing a CSV file through a {@link FileChannel}
+     * with given field separator, text qualifier and buffer size.
+     *
+     * The file is written in blocks of exactly the buffer size, except at the
+     * end, so a multiple of the file system’s block size gives aligned writes.
+     *
+     * @param outputFile The CSV file to be opened for writing
+     * @param sep        The field separator to be used; overwrites the default one
+     * @param qual       The text qualifier to be used; overwrites the default one
+     * @param bufferSize The size of the blocks written, in bytes
+     * @throws IOException if an error occurs while creating the file
+     * @see #CSVFileWriter(Path)
+     */
+    public CSVFileWriter(final Path outputFile, final char sep, final char qual, final int bufferSize)
+      throws IOException {
+        this(ByteWriter.open(outputFile, bufferSize), sep, qual);
+    }
+
+    /**
+     * CSVFileWriter constructor writing UTF-8 through a byte buffer.
+     *
+     * @param writer The {@link ByteWriter} to write to
+     * @param sep    The field separator to be used; overwrites the default one
+     * @param qual   The text qualifier to be used; overwrites the default one
+     */
+    CSVFileWriter(final ByteWriter writer, final char sep, final char qual) {
+        super(sep, qual);
+        bytes = writer;
+        // the ByteWriter buffers already
+        out = new PrintWriter(writer);
     }
 
     /**
@@ -177,6 +331,7 @@ public class CSVFileWriter extends CSVFile {
      */
     public CSVFileWriter(final Writer writer, final char sep, final char qual) {
         super(sep, qual);
+        bytes = null;
         out = new PrintWriter(new BufferedWriter(writer));
     }
 
@@ -202,10 +357,150 @@ public class CSVFileWriter extends CSVFile {
         rowSeparator = separator;
     }
 
+    /**
+     * Sets whether to force the file contents to storage when closing,
+     * so they survive a system crash once {@link #close()} returns.
+     *
+     * @param force whether to {@link FileChannel#force(boolean)} the file (default: false)
+     * @throws UnsupportedOperationException if not writing to a {@link FileChannel}
+     */
+    public void setForceOnClose(final boolean force) {
+        if (bytes == null || !bytes.isFile()) {
+            throw new UnsupportedOperationException("not writing to a FileChannel");
+        }
+        bytes.setForce(force);
+    }
+
+    /**
+     * Sets whether to write the output on a dedicated I/O thread, so that
+     * formatting rows continues while a full buffer is being written out.
+     *
+     * Two buffers are used; when both are full, writing rows waits for the
+     * I/O thread. Errors it encounters are thrown, as
+     * {@link UncheckedIOException}, by the next {@link #writeFields(Iterable)},
+     * {@link #endRow()} or {@link #close()}, which waits for all output to be
+     * written. Switching back waits for the write in progress.
+     *
+     * @param async whether to write asynchronously (default: false)
+     * @throws UnsupportedOperationException if not writing to an
+     *                                       {@link OutputStream} or a {@link WritableByteChannel}
+     * @throws UncheckedIOException          if an earlier write failed
+     */
+    public void setAsync(final boolean async) {
+        if (bytes == null) {
+            throw new UnsupportedOperationException("not writing bytes");
+        }
+        try {
+            bytes.setAsync(async);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sets metrics recording the rows written from now on, see {@link CSVMetrics}.
+     *
+     * When writing to an {@link OutputStream}, a {@link WritableByteChannel} or
+     * a file given as {@link java.nio.file.Path}, bytes are counted, otherwise
+     * characters. The I/O time is that spent handing formatted rows on to the
+     * output, including encoding; for subclasses overriding
+     * {@link #prepareField(Object)}, it is counted as formatting time.
+     *
+     * @param m the metrics, or null to stop recording
+     */
+    public void setMetrics(final CSVMetrics m) {
+        metrics = m;
+    }
+
+    /**
+     * Gets the metrics set by {@link #setMetrics(CSVMetrics)}.
+     *
+     * @return the metrics, or null
+     */
+    public CSVMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Starts recording a row for {@link #metrics}.
+     */
+    private void beginMetrics() {
+        rowTimed = true;
+        rowNanos = System.nanoTime();
+        rowBytes = produced();
+        rowFields = 0;
+        rowQuoted = 0;
+        rowMultiLine = 0;
+    }
+
+    /**
+     * Counts a field of the row being recorded for {@link #metrics}.
+     *
+     * @param field the contents, or null for numbers
+     */
+    private void countField(final CharSequence field) {
+        if (!rowTimed) {
+            return;
+        }
+        ++rowFields;
+        if (field == null) {
+            return;
+        }
+        boolean special = false;
+        boolean newline = false;
+        for (int i = 0; i < field.length(); ++i) {
+            final char c = field.charAt(i);
+            if (c == '\n' || c == '\r') {
+                newline = true;
+                break;
+            }
+            if (c == fieldSeparator || c == textQualifier) {
+                special = true;
+            }
+        }
+        if (newline) {
+            ++rowMultiLine;
+        }
+        if ((special || newline) && quotes()) {
+            ++rowQuoted;
+        }
+    }
+
+    /**
+     * Finishes recording a row for {@link #metrics}.
+     */
+    private void endMetrics() {
+        rowTimed = false;
+        final CSVMetrics m = metrics;
+        if (m != null) {
+            m.bytes(produced() - rowBytes);
+            m.row(rowFields, rowQuoted, rowMultiLine, System.nanoTime() - rowNanos);
+        }
+    }
+
+    private long produced() {
+        return bytes != null ? bytes.encoded() : charsOut;
+    }
+
     /**
      * Closes the output CSV file.
+     *
+     * @throws UncheckedIOException if writing bytes and an error occurs
      */
     public void close() {
+        if (metrics != null) {
+            metrics.publish();
+        }
+        if (bytes != null) {
+            try {
+                bytes.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                out.close();
+            }
+            return;
+        }
         out.flush();
         out.close();
     }
@@ -214,18 +509,382 @@ public class CSVFileWriter extends CSVFile {
      * Joins the fields and writes them as a new line to the CSV file.
      *
      * @param fields The list of strings containing the fields
+     * @throws UncheckedIOException if writing bytes and an error occurs
      */
     public void writeFields(final Iterable<?> fields) {
-        boolean first = true;
-        for (final Object field : fields) {
-            if (first) {
-                first = false;
+        if (inRow) {
+            throw new IllegalStateException("row begun with beginRow() not ended");
+        }
+        if (metrics != null) {
+            beginMetrics();
+        }
+        if (fieldHooks) {
+            boolean first = true;
+            for (final Object field : fields) {
+                if (first) {
+                    first = false;
+                } else {
+                    out.print(fieldSeparator);
+                    ++charsOut;
+                }
+                final String s = prepareField(field);
+                if (rowTimed) {
+                    countField(field == null ? "" : field.toString());
+                    charsOut += s.length();
+                }
+                out.print(s);
+            }
+            out.print(rowSeparator);
+            charsOut += rowSeparator.length();
+            if (bytes != null) {
+                try {
+                    bytes.check();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            if (rowTimed) {
+                endMetrics();
+            }
+            return;
+        }
+        // format the row into the buffer, writing it out in one go
+        try {
+            boolean first = true;
+            for (final Object field : fields) {
+                if (first) {
+                    first = false;
+                } else {
+                    reserve(1);
+                    rowBuf[rowLen++] = fieldSeparator;
+                }
+                final String s = field == null ? "" : field.toString();
+                countField(s);
+                formatField(s);
+            }
+            final int n = rowSeparator.length();
+            reserve(n);
+            rowSeparator.getChars(0, n, rowBuf, rowLen);
+            rowLen += n;
+        } finally {
+            // on error, what was formatted is written like before
+            flushRow();
+        }
+        if (rowTimed) {
+            endMetrics();
+        }
+    }
+
+    /**
+     * Makes room for some more characters in {@link #rowBuf}, writing
+     * out what was formatted so far if necessary.
+     *
+     * @param n number of characters to make room for
+     */
+    final void reserve(final int n) {
+        if (n > rowBuf.length - rowLen) {
+            flushRow();
+            if (n > rowBuf.length) {
+                rowBuf = new char[Math.max(n, rowBuf.length * 2)];
+            }
+        }
+    }
+
+    /**
+     * Writes the formatted data in {@link #rowBuf} out.
+     *
+     * @throws UncheckedIOException if writing bytes and an error occurs
+     */
+    final void flushRow() {
+        if (rowLen > 0) {
+            final int n = rowLen;
+            rowLen = 0;
+            writeFormatted(rowBuf, 0, n);
+        }
+    }
+
+    /**
+     * Writes already formatted rows to {@link #out}, or directly to
+     * {@link #bytes} so errors are not swallowed.
+     *
+     * @param b   formatted data
+     * @param off offset of the data in b
+     * @param len number of characters to write
+     * @throws UncheckedIOException if writing bytes and an error occurs
+     */
+    final void writeFormatted(final char[] b, final int off, final int len) {
+        final CSVMetrics m = metrics;
+        final long t = m == null ? 0 : System.nanoTime();
+        try {
+            if (bytes == null) {
+                out.write(b, off, len);
+                charsOut += len;
             } else {
-                out.print(fieldSeparator);
+                bytes.write(b, off, len);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (m != null) {
+                m.io(System.nanoTime() - t);
             }
-            out.print(prepareField(field));
         }
-        out.print(rowSeparator);
+    }
+
+    /**
+     * Begins a row whose fields are then written one by one with the
+     * {@code writeField} methods, which format numbers directly into the
+     * output buffer, without boxing them or creating Strings; the fields
+     * are quoted (or, for SSV, checked and converted) like the fields
+     * passed to {@link #writeFields(Iterable)}, and numbers look like
+     * what their {@code toString} methods return.
+     *
+     * <pre>{@code
+     * w.beginRow();
+     * w.writeField(id);
+     * w.writeField(name);
+     * w.writeField(price);
+     * w.endRow();
+     * }</pre>
+     *
+     * This always uses the built-in formatting, even if a subclass
+     * overrides {@link #prepareField(Object)}.
+     *
+     * @throws IllegalStateException if the previous row was not ended
+     */
+    public void beginRow() {
+        if (inRow) {
+            throw new IllegalStateException("row begun with beginRow() not ended");
+        }
+        inRow = true;
+        firstField = true;
+        if (metrics != null) {
+            beginMetrics();
+        }
+    }
+
+    /**
+     * Ends the row begun with {@link #beginRow()}, writing the row separator.
+     *
+     * @throws IllegalStateException if no row was begun
+     * @throws UncheckedIOException  if writing bytes and an error occurs
+     */
+    public void endRow() {
+        checkInRow();
+        inRow = false;
+        try {
+            final int n = rowSeparator.length();
+            reserve(n);
+            rowSeparator.getChars(0, n, rowBuf, rowLen);
+            rowLen += n;
+        } finally {
+            flushRow();
+        }
+        if (rowTimed) {
+            endMetrics();
+        }
+    }
+
+    /**
+     * Writes a text field of the row begun with {@link #beginRow()}.
+     *
+     * @param field contents, or null for an empty field
+     * @throws IllegalStateException if no row was begun
+     */
+    public void writeField(final CharSequence field) {
+        nextField();
+        countField(field);
+        if (field == null || field instanceof String) {
+            formatField(field == null ? "" : (String) field);
+            return;
+        }
+        final int n = field.length();
+        reserve(2 * n + 2);
+        final int start = rowLen;
+        for (int i = 0; i < n; ++i) {
+            rowBuf[start + i] = field.charAt(i);
+        }
+        finishField(start, start + n, field);
+    }
+
+    /**
+     * Writes an integer field of the row begun with {@link #beginRow()}.
+     *
+     * @param field value, written like {@link Integer#toString(int)} does
+     * @throws IllegalStateException if no row was begun
+     */
+    public void writeField(final int field) {
+        writeField((long) field);
+    }
+
+    /**
+     * Writes an integer field of the row begun with {@link #beginRow()}.
+     *
+     * @param field value, written like {@link Long#toString(long)} does
+     * @throws IllegalStateException if no row was begun
+     */
+    public void writeField(final long field) {
+        nextField();
+        countField(null);
+        // room for the digits, the sign and, should they be special, quoting
+        reserve(2 * 20 + 2);
+        final char[] b = rowBuf;
+        final int start = rowLen;
+        int n = 1;
+        for (long v = field / 10; v != 0; v /= 10) {
+            ++n;
+        }
+        int p = start;
+        if (field < 0) {
+            b[p++] = '-';
+        }
+        final int end = p + n;
+        long v = field;
+        for (int i = end - 1; i >= p; --i) {
+            // negative values are handled as such so MIN_VALUE works
+            b[i] = (char) ('0' + Math.abs(v % 10));
+            v /= 10;
+        }
+        finishField(start, end, null);
+    }
+
+    /**
+     * Writes a floating-point field of the row begun with {@link #beginRow()}.
+     *
+     * @param field value, written like {@link Double#toString(double)} does
+     * @throws IllegalStateException if no row was begun
+     */
+    public void writeField(final double field) {
+        nextField();
+        countField(null);
+        numBuf.setLength(0);
+        numBuf.append(field);
+        final int n = numBuf.length();
+        reserve(2 * n + 2);
+        numBuf.getChars(0, n, rowBuf, rowLen);
+        finishField(rowLen, rowLen + n, null);
+    }
+
+    /**
+     * Writes a boolean field of the row begun with {@link #beginRow()}.
+     *
+     * @param field value, written as true or false
+     * @throws IllegalStateException if no row was begun
+     */
+    public void writeField(final boolean field) {
+        nextField();
+        countField(null);
+        formatField(field ? "true" : "false");
+    }
+
+    private void checkInRow() {
+        if (!inRow) {
+            throw new IllegalStateException("no row begun with beginRow()");
+        }
+    }
+
+    /**
+     * Writes the field separator unless at the beginning of the row.
+     */
+    private void nextField() {
+        checkInRow();
+        if (firstField) {
+            firstField = false;
+        } else {
+            reserve(1);
+            rowBuf[rowLen++] = fieldSeparator;
+        }
+    }
+
+    /**
+     * Checks whether a subclass overrides {@link #prepareField(Object)};
+     * called during construction, so it may only look at the class.
+     *
+     * @return true if fields must be formatted through {@link #prepareField(Object)}
+     */
+    boolean hasFieldHooks() {
+        return overrides(getClass(), CSVFileWriter.class, "prepareField", Object.class);
+    }
+
+    /**
+     * Creates a writer formatting rows into another writer the way this
+     * one formats them, for {@link ParallelCSVFileWriter}.
+     *
+     * @param writer to format the rows into
+     * @return a writer with the separators and text qualifier of this one
+     */
+    CSVFileWriter newFormatter(final Writer writer) {
+        final CSVFileWriter w = new CSVFileWriter(writer, fieldSeparator, textQualifier);
+        w.setRowSeparator(getRowSeparator());
+        return w;
+    }
+
+    /**
+     * Checks whether fields containing special characters are quoted.
+     *
+     * @return true for CSV
+     */
+    boolean quotes() {
+        return true;
+    }
+
+    /**
+     * Formats a field into {@link #rowBuf} like {@link #prepareField(Object)}
+     * does, scanning it only once.
+     *
+     * @param field to format
+     */
+    final void formatField(final String field) {
+        final int n = field.length();
+        reserve(2 * n + 2);
+        field.getChars(0, n, rowBuf, rowLen);
+        finishField(rowLen, rowLen + n, field);
+    }
+
+    /**
+     * Quotes the field copied to the end of {@link #rowBuf} if necessary
+     * and appends it to the row; if it needs quoting, the text qualifiers
+     * are doubled in place, from the back.
+     *
+     * @param start offset of the field in {@link #rowBuf}, which is {@link #rowLen}
+     * @param end   end of the field; there must be room for as many characters
+     *              again, plus two, after start
+     * @param field the field as passed, for error messages; null for numbers
+     */
+    void finishField(final int start, final int end, final CharSequence field) {
+        final char[] b = rowBuf;
+        final char sep = fieldSeparator;
+        final char qual = textQualifier;
+        int i = start;
+        while (i < end) {
+            final char c = b[i];
+            if (c == sep || c == '\n' || c == '\r' || c == qual) {
+                break;
+            }
+            ++i;
+        }
+        if (i == end) {
+            rowLen = end;
+            return;
+        }
+        int quals = 0;
+        for (int k = i; k < end; ++k) {
+            if (b[k] == qual) {
+                ++quals;
+            }
+        }
+        int dst = end + quals + 1;
+        b[dst] = qual;
+        for (int k = end - 1; k >= i; --k) {
+            final char c = b[k];
+            b[--dst] = c;
+            if (c == qual) {
+                b[--dst] = qual;
+            }
+        }
+        System.arraycopy(b, start, b, start + 1, i - start);
+        b[start] = qual;
+        rowLen = end + quals + 2;
     }
 
     /**
@@ -236,13 +895,26 @@ public class CSVFileWriter extends CSVFile {
      */
     protected String prepareField(final Object field) {
         final String fieldString = field == null ? "" : field.toString();
-        if (fieldString.indexOf(fieldSeparator) >= 0 ||
-          fieldString.indexOf('\n') >= 0 ||
-          fieldString.indexOf('\r') >= 0 ||
-          fieldString.indexOf(textQualifier) >= 0) {
-            return textQualifier + fieldString.replaceAll(String.valueOf(textQualifier),
-              new String(new char[] { textQualifier, textQualifier })) + textQualifier;
-        }
-        return fieldString;
+        final int n = fieldString.length();
+        int i = 0;
+        while (i < n) {
+            final char c = fieldString.charAt(i);
+            if (c == fieldSeparator || c == '\n' || c == '\r' || c == textQualifier) {
+                break;
+            }
+            ++i;
+        }
+        if (i == n) {
+            return fieldString;
+        }
+        final StringBuilder sb = new StringBuilder(n + 8).append(textQualifier);
+        for (int k = 0; k < n; ++k) {
+            final char c = fieldString.charAt(k);
+            if (c == textQualifier) {
+                sb.append(textQualifier);
+            }
+            sb.append(c);
+        }
+        return sb.append(textQualifier).toString();
     }
 }
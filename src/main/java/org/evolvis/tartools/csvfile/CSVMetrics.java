@@ -0,0 +1,285 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Counters and timings of a {@link CSVFileReader} or {@link CSVFileWriter},
+ * enabled by {@link CSVFileReader#setMetrics(CSVMetrics)} or
+ * {@link CSVFileWriter#setMetrics(CSVMetrics)}; without one, reading and
+ * writing are not slowed down beyond a null check per row.
+ *
+ * An instance belongs to one reader or writer and is updated on its
+ * thread. Every {@link #getBatchSize()} rows, and at EOF or on close, the
+ * values are published: the listener, if any, is called on that thread,
+ * and the getters, which may be called from any thread, and the MXBean
+ * (see {@link #register(String)}) show them from then on.
+ *
+ * <pre>{@code
+ * final CSVMetrics m = new CSVMetrics(CSVMetrics.DEFAULT_BATCH_SIZE,
+ *   metrics -> log.debug("{} rows, {} B/s", metrics.getRows(), metrics.getBytesPerSecond()));
+ * reader.setMetrics(m);
+ * }</pre>
+ *
+ * Timing a row costs two calls to {@link System#nanoTime()}, finding
+ * quoted and multi-line fields another pass over the row, when enabled.
+ * For a writer, the time of a row begun with {@link CSVFileWriter#beginRow()}
+ * includes what the caller does until {@link CSVFileWriter#endRow()}.
+ */
+public class CSVMetrics implements CSVMetricsMXBean {
+    /**
+     * Callback receiving the metrics as published.
+     */
+    public interface Listener {
+        /**
+         * Called after a batch of rows, or at EOF or on close.
+         *
+         * @param metrics the metrics, published
+         */
+        void batch(CSVMetrics metrics);
+    }
+
+    /**
+     * The default number of rows per batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private static final int BUCKETS = 64;
+
+    private static final int ROWS = 0;
+    private static final int BYTES = 1;
+    private static final int FIELDS = 2;
+    private static final int QUOTED = 3;
+    private static final int MULTI_LINE = 4;
+    private static final int IO_NANOS = 5;
+    private static final int PROCESS_NANOS = 6;
+
+    private final int batchSize;
+    private final Listener listener;
+
+    /**
+     * Running totals, indexed like {@link #published}; owner thread only.
+     */
+    private final long[] totals = new long[7];
+    private final long[] histogram = new long[BUCKETS];
+    private int batchRows = 0;
+    private long batchNanos = 0;
+
+    /**
+     * I/O time since the last row was recorded.
+     */
+    private long pendingIo = 0;
+    private boolean dirty = false;
+
+    private volatile long[] published = new long[7];
+    private volatile long[] publishedHistogram = new long[BUCKETS];
+    private ObjectName name = null;
+
+    /**
+     * Creates metrics with the default batch size and no listener.
+     */
+    public CSVMetrics() {
+        this(DEFAULT_BATCH_SIZE, null);
+    }
+
+    /**
+     * Creates metrics.
+     *
+     * @param batchSize number of rows per batch
+     * @param listener  to call with each batch, or null
+     */
+    public CSVMetrics(final int batchSize, final Listener listener) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batch size must be positive: " + batchSize);
+        }
+        this.batchSize = batchSize;
+        this.listener = listener;
+    }
+
+    /**
+     * Records time spent in I/O.
+     *
+     * @param nanos duration
+     */
+    final void io(final long nanos) {
+        totals[IO_NANOS] += nanos;
+        pendingIo += nanos;
+        dirty = true;
+    }
+
+    /**
+     * Records bytes consumed or produced.
+     *
+     * @param n number of bytes
+     */
+    final void bytes(final long n) {
+        totals[BYTES] += n;
+        dirty = true;
+    }
+
+    /**
+     * Records a row, publishing if the batch is full.
+     *
+     * @param fields    number of fields
+     * @param quoted    number of quoted fields
+     * @param multiLine number of fields containing newlines
+     * @param nanos     time spent on the row, including I/O
+     */
+    final void row(final int fields, final int quoted, final int multiLine, final long nanos) {
+        final long[] t = totals;
+        ++t[ROWS];
+        t[FIELDS] += fields;
+        t[QUOTED] += quoted;
+        t[MULTI_LINE] += multiLine;
+        t[PROCESS_NANOS] += Math.max(0, nanos - pendingIo);
+        pendingIo = 0;
+        batchNanos += nanos;
+        dirty = true;
+        if (++batchRows == batchSize) {
+            publish();
+        }
+    }
+
+    /**
+     * Publishes the values recorded so far, if any changed, ending the batch.
+     */
+    final void publish() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        if (batchRows > 0) {
+            ++histogram[bucket(batchNanos)];
+            batchRows = 0;
+            batchNanos = 0;
+        }
+        publishedHistogram = histogram.clone();
+        published = totals.clone();
+        if (listener != null) {
+            listener.batch(this);
+        }
+    }
+
+    private static int bucket(final long nanos) {
+        return nanos <= 1 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server, under the
+     * object name {@code org.evolvis.tartools.csvfile:type=CSVMetrics,name=…}.
+     *
+     * @param name to tell the metrics of several readers and writers apart
+     * @throws JMException           if registering fails, e.g. if the name is taken
+     * @throws IllegalStateException if already registered
+     */
+    public synchronized void register(final String name) throws JMException {
+        if (this.name != null) {
+            throw new IllegalStateException("already registered as " + this.name);
+        }
+        final ObjectName on = new ObjectName("org.evolvis.tartools.csvfile:type=CSVMetrics,name=" +
+          ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, on);
+        this.name = on;
+    }
+
+    /**
+     * Unregisters the metrics from the platform MBean server, if registered.
+     *
+     * @throws JMException if unregistering fails
+     */
+    public synchronized void unregister() throws JMException {
+        if (name != null) {
+            final ObjectName on = name;
+            name = null;
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(on);
+        }
+    }
+
+    @Override
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    @Override
+    public long getRows() {
+        return published[ROWS];
+    }
+
+    @Override
+    public long getBytes() {
+        return published[BYTES];
+    }
+
+    @Override
+    public long getFields() {
+        return published[FIELDS];
+    }
+
+    @Override
+    public double getFieldsPerRow() {
+        final long[] p = published;
+        return p[ROWS] == 0 ? 0 : (double) p[FIELDS] / p[ROWS];
+    }
+
+    @Override
+    public long getQuotedFields() {
+        return published[QUOTED];
+    }
+
+    @Override
+    public long getMultiLineFields() {
+        return published[MULTI_LINE];
+    }
+
+    @Override
+    public long getIoNanos() {
+        return published[IO_NANOS];
+    }
+
+    @Override
+    public long getProcessNanos() {
+        return published[PROCESS_NANOS];
+    }
+
+    @Override
+    public double getBytesPerSecond() {
+        return perSecond(BYTES);
+    }
+
+    @Override
+    public double getRowsPerSecond() {
+        return perSecond(ROWS);
+    }
+
+    private double perSecond(final int what) {
+        final long[] p = published;
+        final long nanos = p[IO_NANOS] + p[PROCESS_NANOS];
+        return nanos == 0 ? 0 : p[what] * 1e9 / nanos;
+    }
+
+    @Override
+    public long[] getLatencyHistogram() {
+        return publishedHistogram.clone();
+    }
+}
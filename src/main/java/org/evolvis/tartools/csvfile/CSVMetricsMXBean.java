@@ -0,0 +1,113 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+/**
+ * Management interface of {@link CSVMetrics}, see {@link CSVMetrics#register(String)};
+ * all values are as of the last batch published.
+ */
+public interface CSVMetricsMXBean {
+    /**
+     * Gets the number of rows per batch.
+     *
+     * @return batch size
+     */
+    int getBatchSize();
+
+    /**
+     * Gets the number of rows read or written.
+     *
+     * @return number of rows
+     */
+    long getRows();
+
+    /**
+     * Gets the number of bytes consumed or produced; characters
+     * if the reader or writer does not handle bytes itself.
+     *
+     * @return number of bytes
+     */
+    long getBytes();
+
+    /**
+     * Gets the number of fields read or written.
+     *
+     * @return number of fields
+     */
+    long getFields();
+
+    /**
+     * Gets the average number of fields per row.
+     *
+     * @return fields per row
+     */
+    double getFieldsPerRow();
+
+    /**
+     * Gets the number of quoted fields.
+     *
+     * @return number of fields that were or had to be quoted
+     */
+    long getQuotedFields();
+
+    /**
+     * Gets the number of fields containing newlines.
+     *
+     * @return number of multi-line fields
+     */
+    long getMultiLineFields();
+
+    /**
+     * Gets the time spent reading or writing the underlying input or output.
+     *
+     * @return nanoseconds
+     */
+    long getIoNanos();
+
+    /**
+     * Gets the time spent parsing or formatting rows, excluding I/O.
+     *
+     * @return nanoseconds
+     */
+    long getProcessNanos();
+
+    /**
+     * Gets the throughput, over the time spent in I/O and processing.
+     *
+     * @return bytes per second
+     */
+    double getBytesPerSecond();
+
+    /**
+     * Gets the row rate, over the time spent in I/O and processing.
+     *
+     * @return rows per second
+     */
+    double getRowsPerSecond();
+
+    /**
+     * Gets the histogram of the time spent on each batch of rows: element
+     * i counts the batches that took from 2ⁱ up to 2ⁱ⁺¹ nanoseconds.
+     *
+     * @return batch counts, indexed by binary logarithm of the latency
+     */
+    long[] getLatencyHistogram();
+}
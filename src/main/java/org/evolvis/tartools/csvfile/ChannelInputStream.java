@@ -0,0 +1,73 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * {@link InputStream} reading a {@link FileChannel} from a given position on,
+ * using positional reads so that several streams can share one channel.
+ */
+final class ChannelInputStream extends InputStream {
+    private final FileChannel channel;
+    private long position;
+
+    /**
+     * Creates a stream over a channel.
+     *
+     * @param channel  the channel to read from; not closed by this stream
+     * @param position offset to start reading at
+     */
+    ChannelInputStream(final FileChannel channel, final long position) {
+        this.channel = channel;
+        this.position = position;
+    }
+
+    /**
+     * Moves the stream to another position.
+     *
+     * @param position offset to continue reading at
+     */
+    void seek(final long position) {
+        this.position = position;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final byte[] b = new byte[1];
+        return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] b, final int off, final int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        final int n = channel.read(ByteBuffer.wrap(b, off, len), position);
+        if (n > 0) {
+            position += n;
+        }
+        return n;
+    }
+}
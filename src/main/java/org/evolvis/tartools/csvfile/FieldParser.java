@@ -0,0 +1,235 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.nio.CharBuffer;
+import java.time.LocalDate;
+
+/**
+ * Parses primitive values directly from a range of a character array,
+ * used by the typed accessors of {@link CSVFileReader} so numeric fields
+ * need not be copied into a String first.
+ *
+ * The syntax accepted is that of the corresponding {@code parse} methods
+ * of the JDK; inputs not covered by the fast paths are handed to them.
+ */
+final class FieldParser {
+    /**
+     * Powers of ten exactly representable as double.
+     */
+    private static final double[] POW10 = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+      1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+      1e21, 1e22,
+    };
+
+    private FieldParser() {
+    }
+
+    /**
+     * Parses a decimal integer like {@link Long#parseLong(String)} does.
+     *
+     * @param b   characters
+     * @param off offset of the field
+     * @param len length of the field
+     * @return the value
+     * @throws NumberFormatException if the field is no integer or out of range
+     */
+    static long parseLong(final char[] b, final int off, final int len) {
+        final int end = off + len;
+        int p = off;
+        boolean neg = false;
+        if (p < end && (b[p] == '-' || b[p] == '+')) {
+            neg = b[p++] == '-';
+        }
+        if (p == end) {
+            throw new NumberFormatException("not an integer");
+        }
+        // accumulated negatively so MIN_VALUE fits
+        final long limit = neg ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long r = 0;
+        while (p < end) {
+            final int d = b[p++] - '0';
+            if (d < 0 || d > 9) {
+                throw new NumberFormatException("not an integer");
+            }
+            if (r < limit / 10 || r * 10 < limit + d) {
+                throw new NumberFormatException("integer out of range");
+            }
+            r = r * 10 - d;
+        }
+        return neg ? r : -r;
+    }
+
+    /**
+     * Parses a floating-point number like {@link Double#parseDouble(String)} does.
+     *
+     * Plain decimal numbers with at most 15 significant digits and a small
+     * exponent are converted with a single, correctly rounded, operation;
+     * everything else is passed on to the JDK.
+     *
+     * @param b   characters
+     * @param off offset of the field
+     * @param len length of the field
+     * @return the value
+     * @throws NumberFormatException if the field is no number
+     */
+    static double parseDouble(final char[] b, final int off, final int len) {
+        final int end = off + len;
+        int p = off;
+        boolean neg = false;
+        if (p < end && (b[p] == '-' || b[p] == '+')) {
+            neg = b[p++] == '-';
+        }
+        long m = 0;
+        int nd = 0;
+        int exp = 0;
+        boolean digits = false;
+        boolean dot = false;
+        for (; p < end; ++p) {
+            final char c = b[p];
+            if (c == '.' && !dot) {
+                dot = true;
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                break;
+            }
+            digits = true;
+            if (dot) {
+                --exp;
+            }
+            if (m == 0 && c == '0') {
+                continue;
+            }
+            if (++nd > 15) {
+                return slowDouble(b, off, len);
+            }
+            m = m * 10 + (c - '0');
+        }
+        if (!digits) {
+            return slowDouble(b, off, len);
+        }
+        if (p < end && (b[p] == 'e' || b[p] == 'E')) {
+            if (++p < end && (b[p] == '-' || b[p] == '+')) {
+                ++p;
+            }
+            final boolean eneg = b[p - 1] == '-';
+            int e = 0;
+            final int estart = p;
+            while (p < end && b[p] >= '0' && b[p] <= '9' && e < 1000) {
+                e = e * 10 + (b[p++] - '0');
+            }
+            if (p == estart) {
+                return slowDouble(b, off, len);
+            }
+            exp += eneg ? -e : e;
+        }
+        if (p < end) {
+            return slowDouble(b, off, len);
+        }
+        if (m == 0) {
+            return neg ? -0.0 : 0.0;
+        }
+        final double v;
+        if (exp >= 0 && exp < POW10.length) {
+            v = m * POW10[exp];
+        } else if (exp < 0 && -exp < POW10.length) {
+            v = m / POW10[-exp];
+        } else {
+            return slowDouble(b, off, len);
+        }
+        return neg ? -v : v;
+    }
+
+    private static double slowDouble(final char[] b, final int off, final int len) {
+        return Double.parseDouble(new String(b, off, len));
+    }
+
+    /**
+     * Parses a boolean, which must be true or false (ignoring case).
+     *
+     * @param b   characters
+     * @param off offset of the field
+     * @param len length of the field
+     * @return the value
+     * @throws IllegalArgumentException if the field is no boolean
+     */
+    static boolean parseBoolean(final char[] b, final int off, final int len) {
+        if (matches(b, off, len, "true")) {
+            return true;
+        }
+        if (matches(b, off, len, "false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("not a boolean");
+    }
+
+    private static boolean matches(final char[] b, final int off, final int len, final String s) {
+        if (len != s.length()) {
+            return false;
+        }
+        for (int i = 0; i < len; ++i) {
+            if (Character.toLowerCase(b[off + i]) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses an ISO 8601 date like {@link LocalDate#parse(CharSequence)} does.
+     *
+     * @param b   characters
+     * @param off offset of the field
+     * @param len length of the field
+     * @return the date
+     * @throws java.time.DateTimeException if the field is no valid date
+     */
+    static LocalDate parseDate(final char[] b, final int off, final int len) {
+        if (len == 10 && b[off + 4] == '-' && b[off + 7] == '-') {
+            final int y = digits(b, off, 4);
+            final int m = digits(b, off + 5, 2);
+            final int d = digits(b, off + 8, 2);
+            if (y >= 0 && m >= 0 && d >= 0) {
+                return LocalDate.of(y, m, d);
+            }
+        }
+        return LocalDate.parse(CharBuffer.wrap(b, off, len));
+    }
+
+    /**
+     * Parses a fixed number of decimal digits.
+     *
+     * @return the value, or -1 if a character is no digit
+     */
+    private static int digits(final char[] b, final int off, final int n) {
+        int r = 0;
+        for (int i = off; i < off + n; ++i) {
+            final int d = b[i] - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            r = r * 10 + d;
+        }
+        return r;
+    }
+}
@@ -0,0 +1,392 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Index of the rows of a CSV or SSV file by the value of one column, for
+ * looking up rows by key without scanning the file.
+ *
+ * The index holds, for every row, a 32-bit hash of its key and the byte
+ * offset of the row, in two primitive arrays sorted by hash; the keys
+ * themselves are not kept, so the index stays small even for long keys.
+ * A lookup finds the rows with the hash of the key by binary search and
+ * reads them from the file, returning those whose key actually matches.
+ *
+ * Like {@link RowIndex}, it can be kept as sidecar file; it records size
+ * and modification time of the file and is not loaded if they changed.
+ * Lookups also check them, as a changed file would yield wrong rows:
+ *
+ * <pre>{@code
+ * final Path idx = KeyIndex.sidecar(file, 0);
+ * KeyIndex index = KeyIndex.load(file, idx);
+ * if (index == null) {
+ *     index = KeyIndex.build(file, StandardCharsets.UTF_8, ',', '"', true, 0);
+ *     index.save(idx);
+ * }
+ * final List<List<String>> rows = index.lookup("4711");
+ * index.close();
+ * }</pre>
+ *
+ * The file must be in UTF-8 or an ASCII-compatible single-byte charset,
+ * and field separator and text qualifier must be ASCII characters. Files
+ * with more than {@link Integer#MAX_VALUE} rows cannot be indexed.
+ */
+public final class KeyIndex {
+    private static final int MAGIC = 0x4353564B;
+    private static final int VERSION = 1;
+
+    /**
+     * Size of the byte window of the reader used for lookups; rows are
+     * read one at a time from random positions, so it is kept small.
+     */
+    private static final int LOOKUP_WINDOW = 4096;
+
+    private final Path file;
+    private final Charset charset;
+    private final char fieldSeparator;
+    private final char textQualifier;
+    private final boolean ssv;
+    private final int column;
+    private final long fileSize;
+    private final long fileTime;
+
+    /**
+     * Key hash in the upper and row ordinal in the lower 32 bits, sorted.
+     */
+    private final long[] entries;
+
+    /**
+     * Byte offset of each row, by ordinal.
+     */
+    private final long[] offsets;
+
+    private FileChannel channel = null;
+    private ChannelInputStream stream = null;
+    private CSVFileReader reader = null;
+
+    private KeyIndex(final Path file, final Charset charset, final char sep, final char qual,
+      final boolean ssv, final int column, final long fileSize, final long fileTime,
+      final long[] entries, final long[] offsets) {
+        this.file = file;
+        this.charset = charset;
+        fieldSeparator = sep;
+        textQualifier = qual;
+        this.ssv = ssv;
+        this.column = column;
+        this.fileSize = fileSize;
+        this.fileTime = fileTime;
+        this.entries = entries;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Builds the index of a CSV file by a column.
+     *
+     * @param file    The CSV file to index
+     * @param charset The charset of the file
+     * @param sep     The field separator used in the file
+     * @param qual    The text qualifier used in the file
+     * @param header  Whether the first row is a header, which is not indexed
+     * @param column  The index of the key column, starting at 0; rows
+     *                without it are indexed under the empty key
+     * @return the index
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if record boundaries cannot be found on raw bytes
+     */
+    public static KeyIndex build(final Path file, final Charset charset, final char sep, final char qual,
+      final boolean header, final int column) throws IOException {
+        return build(file, charset, sep, qual, false, header, column);
+    }
+
+    /**
+     * Builds the index of an SSV file by a column.
+     *
+     * The SSV file is assumed to be in UTF-8 encoding. Keys containing
+     * embedded newlines are matched with the platform newline.
+     *
+     * @param file   The SSV file to index
+     * @param header Whether the first row is a header, which is not indexed
+     * @param column The index of the key column, starting at 0
+     * @return the index
+     * @throws IOException if the file cannot be read
+     */
+    public static KeyIndex buildSSV(final Path file, final boolean header, final int column)
+      throws IOException {
+        return build(file, StandardCharsets.UTF_8, (char) 0x1F, (char) 0, true, header, column);
+    }
+
+    private static KeyIndex build(final Path file, final Charset charset, final char sep, final char qual,
+      final boolean ssv, final boolean header, final int column) throws IOException {
+        if (!ByteWindow.supports(charset) || sep > 0x7F || qual > 0x7F) {
+            throw new IllegalArgumentException("key index needs an ASCII-compatible charset " +
+              "and ASCII field separator and text qualifier");
+        }
+        if (column < 0) {
+            throw new IllegalArgumentException("invalid column: " + column);
+        }
+        final long size = Files.size(file);
+        final long time = Files.getLastModifiedTime(file).toMillis();
+        int[] hashes = new int[1024];
+        long[] offsets = new long[1024];
+        int n = 0;
+        final CSVFileReader r = newReader(Files.newInputStream(file), charset, sep, qual, ssv);
+        try {
+            if (header) {
+                r.readHeader();
+            }
+            // only the key column is decoded
+            r.setProjection(column);
+            while (r.nextRow()) {
+                if (n == offsets.length) {
+                    if (n == Integer.MAX_VALUE) {
+                        throw new IllegalArgumentException("too many rows to index: " + file);
+                    }
+                    final int grown = (int) Math.min(Integer.MAX_VALUE, 2L * n);
+                    hashes = Arrays.copyOf(hashes, grown);
+                    offsets = Arrays.copyOf(offsets, grown);
+                }
+                hashes[n] = r.getFieldString(0).hashCode();
+                offsets[n++] = r.rowOffset;
+            }
+        } finally {
+            r.close();
+        }
+        final long[] entries = new long[n];
+        for (int i = 0; i < n; ++i) {
+            entries[i] = entry(hashes[i], i);
+        }
+        Arrays.sort(entries);
+        return new KeyIndex(file, charset, sep, qual, ssv, column, size, time, entries,
+          Arrays.copyOf(offsets, n));
+    }
+
+    private static long entry(final int hash, final int ordinal) {
+        return (long) hash << 32 | ordinal;
+    }
+
+    private static CSVFileReader newReader(final InputStream stream, final Charset charset,
+      final char sep, final char qual, final boolean ssv) {
+        return ssv ? new SSVFileReader(stream) : new CSVFileReader(stream, charset, sep, qual);
+    }
+
+    /**
+     * Gets the default name of the sidecar index file of a file.
+     *
+     * @param file   the CSV or SSV file
+     * @param column the index of the key column
+     * @return the file with “.key” and the column number appended to its name
+     */
+    public static Path sidecar(final Path file, final int column) {
+        return file.resolveSibling(file.getFileName() + ".key" + column);
+    }
+
+    /**
+     * Writes the index to a file.
+     *
+     * @param indexFile the file to write to, see {@link #sidecar(Path, int)}
+     * @throws IOException if the index file cannot be written
+     */
+    public void save(final Path indexFile) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+          Files.newOutputStream(indexFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fileSize);
+            out.writeLong(fileTime);
+            out.writeBoolean(ssv);
+            out.writeUTF(charset.name());
+            out.writeChar(fieldSeparator);
+            out.writeChar(textQualifier);
+            out.writeInt(column);
+            out.writeInt(entries.length);
+            for (final long e : entries) {
+                out.writeLong(e);
+            }
+            for (final long offset : offsets) {
+                out.writeLong(offset);
+            }
+        }
+    }
+
+    /**
+     * Reads the index of a file from an index file written by {@link #save(Path)}.
+     *
+     * @param file      the CSV or SSV file
+     * @param indexFile the index file, see {@link #sidecar(Path, int)}
+     * @return the index, or null if there is no index file or it was
+     * built for a different size or modification time of the file
+     * @throws IOException if the index file cannot be read or is not an index
+     */
+    public static KeyIndex load(final Path file, final Path indexFile) throws IOException {
+        if (!Files.exists(indexFile)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+          Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("not a key index: " + indexFile);
+            }
+            final long size = in.readLong();
+            final long time = in.readLong();
+            if (size != Files.size(file) || time != Files.getLastModifiedTime(file).toMillis()) {
+                return null;
+            }
+            final boolean ssv = in.readBoolean();
+            final Charset charset = Charset.forName(in.readUTF());
+            final char sep = in.readChar();
+            final char qual = in.readChar();
+            final int column = in.readInt();
+            final int n = in.readInt();
+            final long[] entries = new long[n];
+            for (int i = 0; i < n; ++i) {
+                entries[i] = in.readLong();
+            }
+            final long[] offsets = new long[n];
+            for (int i = 0; i < n; ++i) {
+                offsets[i] = in.readLong();
+            }
+            return new KeyIndex(file, charset, sep, qual, ssv, column, size, time, entries, offsets);
+        }
+    }
+
+    /**
+     * Checks whether the file still has the size and modification time
+     * it had when the index was built.
+     *
+     * @return true if the index is still valid
+     * @throws IOException if the file attributes cannot be read
+     */
+    public boolean isCurrent() throws IOException {
+        return Files.size(file) == fileSize &&
+          Files.getLastModifiedTime(file).toMillis() == fileTime;
+    }
+
+    /**
+     * Gets the index of the key column.
+     *
+     * @return column, starting at 0
+     */
+    public int getColumn() {
+        return column;
+    }
+
+    /**
+     * Gets the number of rows indexed.
+     *
+     * @return number of rows
+     */
+    public int getRowCount() {
+        return entries.length;
+    }
+
+    /**
+     * Finds the rows with a key. Lookups share one open reader and are
+     * serialised; the file is kept open until {@link #close()}.
+     *
+     * @param key the value of the key column to look for
+     * @return the matching rows, as {@link CSVFileReader#readFields()} returns
+     * them, in file order; empty if there are none
+     * @throws IOException           if the file cannot be read
+     * @throws IllegalStateException if the file changed since it was indexed
+     */
+    public synchronized List<List<String>> lookup(final String key) throws IOException {
+        final int hash = key.hashCode();
+        int i = lowerBound(entry(hash, 0));
+        if (i == entries.length || (int) (entries[i] >>> 32) != hash) {
+            return Collections.emptyList();
+        }
+        if (!isCurrent()) {
+            throw new IllegalStateException("file changed since it was indexed: " + file);
+        }
+        final CSVFileReader r = reader();
+        final List<List<String>> rows = new ArrayList<>();
+        for (; i < entries.length && (int) (entries[i] >>> 32) == hash; ++i) {
+            final long offset = offsets[(int) entries[i]];
+            stream.seek(offset);
+            r.restartBytes(offset);
+            final List<String> row = r.readFields();
+            if (row != null && key.equals(column < row.size() ? row.get(column) : "")) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Finds the first entry not less than e.
+     */
+    private int lowerBound(final long e) {
+        int lo = 0;
+        int hi = entries.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (entries[mid] < e) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private CSVFileReader reader() throws IOException {
+        if (reader == null) {
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            stream = new ChannelInputStream(channel, 0);
+            reader = newReader(stream, charset, fieldSeparator, textQualifier, ssv);
+            reader.bytes.buf = new byte[LOOKUP_WINDOW];
+        }
+        return reader;
+    }
+
+    /**
+     * Closes the file if it was opened for lookups; the index can
+     * still be used, reopening it.
+     *
+     * @throws IOException if closing fails
+     */
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            reader = null;
+            stream = null;
+            final FileChannel c = channel;
+            channel = null;
+            c.close();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link Reader} decoding a memory-mapped file directly into the caller’s
+ * character array, without intermediate byte buffers or read syscalls.
+ *
+ * The file is mapped in chunks so files larger than 2 GiB can be read;
+ * a multibyte sequence crossing a chunk boundary is handled by starting
+ * the next mapping at the first byte the decoder did not consume.
+ * Malformed input is replaced, like {@link java.io.InputStreamReader} does.
+ */
+final class MappedFileReader extends Reader {
+    /**
+     * Default size of a single mapping.
+     */
+    static final long CHUNK_SIZE = 1L << 28;
+
+    private final FileChannel channel;
+    private final long size;
+    private final long chunkSize;
+    private final CharsetDecoder decoder;
+    private MappedByteBuffer map;
+    private long base;
+    private boolean eof = false;
+    private final CharBuffer pending = CharBuffer.allocate(2);
+
+    /**
+     * Maps a file for reading.
+     *
+     * @param file    the file to read
+     * @param charset the charset of the file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    MappedFileReader(final Path file, final Charset charset) throws IOException {
+        this(file, charset, CHUNK_SIZE);
+    }
+
+    /**
+     * Maps a file for reading, using a given mapping size.
+     *
+     * @param file      the file to read
+     * @param charset   the charset of the file
+     * @param chunkSize size of a single mapping, at least 16 bytes
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    MappedFileReader(final Path file, final Charset charset, final long chunkSize)
+      throws IOException {
+        decoder = charset.newDecoder()
+          .onMalformedInput(CodingErrorAction.REPLACE)
+          .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        pending.flip();
+        this.chunkSize = Math.min(Math.max(chunkSize, 16), Integer.MAX_VALUE);
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            size = channel.size();
+            remap(0);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void remap(final long offset) throws IOException {
+        base = offset;
+        map = channel.map(FileChannel.MapMode.READ_ONLY, offset,
+          Math.min(chunkSize, size - offset));
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        if (map == null) {
+            throw new IOException("Stream closed");
+        }
+        if (off < 0 || len < 0 || len > cbuf.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        int o = off;
+        if (pending.hasRemaining()) {
+            cbuf[o++] = pending.get();
+            if (o - off == len) {
+                return 1;
+            }
+        }
+        if (eof) {
+            return o == off ? -1 : o - off;
+        }
+        final CharBuffer out = CharBuffer.wrap(cbuf, o, len - (o - off));
+        decode(out);
+        if (out.position() == o && !eof) {
+            // a surrogate pair does not fit into the single char left
+            pending.clear();
+            decode(pending);
+            pending.flip();
+            cbuf[o] = pending.get();
+            out.position(o + 1);
+        }
+        final int n = out.position() - off;
+        return n == 0 && eof ? -1 : n;
+    }
+
+    /**
+     * Decodes as much as fits into out, mapping the next chunk as needed.
+     *
+     * @param out buffer to decode into
+     * @throws IOException if a chunk cannot be mapped
+     */
+    private void decode(final CharBuffer out) throws IOException {
+        while (true) {
+            final boolean last = base + map.limit() == size;
+            final CoderResult cr = decoder.decode(map, out, last);
+            if (cr.isOverflow()) {
+                return;
+            }
+            if (cr.isError()) {
+                cr.throwException();
+            }
+            if (!last) {
+                remap(base + map.position());
+                continue;
+            }
+            if (decoder.flush(out).isOverflow()) {
+                return;
+            }
+            eof = true;
+            return;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        map = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,588 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads a large CSV file on several cores by splitting it into chunks of
+ * bytes which are parsed concurrently on a {@link ForkJoinPool}.
+ *
+ * A chunk other than the first one speculatively starts after the first
+ * LF at or past its nominal start; it ends before the first row starting
+ * at or past the nominal start of the next chunk. As a LF may also occur
+ * inside a quoted field, every chunk is validated against the true end of
+ * its predecessor once that is known, and parsed again from there in the
+ * rare case the speculation was wrong, so the result always is identical
+ * to reading the file sequentially with {@link CSVFileReader}.
+ *
+ * The rows can also be obtained as a {@link Stream}, see {@link #stream()}.
+ *
+ * The file must be in UTF-8 or an ASCII-compatible single-byte charset,
+ * and field separator and text qualifier must be ASCII characters, so
+ * that record boundaries can be found on the raw bytes.
+ *
+ * @see ParallelSSVFileReader
+ */
+public class ParallelCSVFileReader {
+    /**
+     * Callback receiving the rows of the file.
+     */
+    public interface RowHandler {
+        /**
+         * Handles a row.
+         *
+         * @param number the number of the row in the file, starting at 0
+         * @param fields the fields of the row, as {@link CSVFileReader#readFields()} returns them
+         */
+        void row(long number, List<String> fields);
+    }
+
+    /**
+     * The default size of a chunk; small enough that the chunks held in
+     * memory at a time stay well below typical heap sizes even on many cores.
+     */
+    public static final long DEFAULT_CHUNK_SIZE = 1L << 22;
+
+    /**
+     * The file to read.
+     */
+    protected final Path file;
+
+    /**
+     * The charset of the file.
+     */
+    protected final Charset charset;
+
+    /**
+     * The field separator.
+     */
+    protected final char fieldSeparator;
+
+    /**
+     * The text qualifier.
+     */
+    protected final char textQualifier;
+
+    private long chunkSize = DEFAULT_CHUNK_SIZE;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * ParallelCSVFileReader constructor with default field separator and text qualifier.
+     *
+     * @param inputFile The CSV file to be read
+     * @param charset   The charset of the file
+     */
+    public ParallelCSVFileReader(final Path inputFile, final Charset charset) {
+        this(inputFile, charset, CSVFile.DEFAULT_FIELD_SEPARATOR, CSVFile.DEFAULT_TEXT_QUALIFIER);
+    }
+
+    /**
+     * ParallelCSVFileReader constructor with given field separator and text qualifier.
+     *
+     * @param inputFile The CSV file to be read
+     * @param charset   The charset of the file
+     * @param sep       The field separator to be used
+     * @param qual      The text qualifier to be used
+     * @throws IllegalArgumentException if record boundaries cannot be found on raw bytes
+     */
+    public ParallelCSVFileReader(final Path inputFile, final Charset charset,
+      final char sep, final char qual) {
+        if (!ByteWindow.supports(charset) || sep > 0x7F || qual > 0x7F) {
+            throw new IllegalArgumentException("parallel reading needs an ASCII-compatible charset " +
+              "and ASCII field separator and text qualifier");
+        }
+        file = inputFile;
+        this.charset = charset;
+        fieldSeparator = sep;
+        textQualifier = qual;
+    }
+
+    /**
+     * Gets the size of the chunks the file is split into.
+     *
+     * @return chunk size in bytes
+     */
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the size of the chunks the file is split into.
+     *
+     * Up to two chunks per thread of the pool are held in memory at a time,
+     * as parsed rows, which take several times the size of the raw bytes.
+     *
+     * @param size chunk size in bytes (default: 4 MiB)
+     */
+    public void setChunkSize(final long size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("chunk size must be positive: " + size);
+        }
+        chunkSize = size;
+    }
+
+    /**
+     * Sets the pool the chunks are parsed on.
+     *
+     * @param forkJoinPool to use (default: {@link ForkJoinPool#commonPool()})
+     */
+    public void setPool(final ForkJoinPool forkJoinPool) {
+        pool = forkJoinPool;
+    }
+
+    /**
+     * Creates the sequential reader used to parse a chunk.
+     *
+     * Subclasses can override this to configure the reader; it must scan
+     * on bytes, i.e. be constructed from the passed stream and charset.
+     *
+     * @param stream the chunk data, continuing to the end of the file
+     * @return a reader for the stream
+     */
+    protected CSVFileReader newReader(final InputStream stream) {
+        return new CSVFileReader(stream, charset, fieldSeparator, textQualifier);
+    }
+
+    /**
+     * Parsed rows of a chunk.
+     */
+    private static final class Chunk {
+        /**
+         * Offset of the first row.
+         */
+        final long start;
+        /**
+         * Nominal start of the next chunk; rows starting there or later belong to it.
+         */
+        final long limit;
+        /**
+         * Offset of the first row not in this chunk, or the file size.
+         */
+        long end;
+        /**
+         * Number of the first row in the file, once validated.
+         */
+        long first;
+        /**
+         * Number of rows.
+         */
+        int count = 0;
+        List<List<String>> rows = new ArrayList<>();
+
+        private Chunk(final long start, final long limit) {
+            this.start = start;
+            this.limit = limit;
+        }
+    }
+
+    /**
+     * Reads all rows, handling them in file order on the calling thread.
+     *
+     * @param handler to pass the rows to
+     * @throws IOException if the file cannot be read
+     */
+    public void forEachOrdered(final RowHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final long n = chunks(size);
+            final int window = 2 * pool.getParallelism();
+            final Deque<CompletableFuture<Chunk>> inflight = new ArrayDeque<>();
+            long next = 0;
+            long start = 0;
+            long number = 0;
+            for (long k = 0; k < n; ++k) {
+                while (next < n && inflight.size() < window) {
+                    inflight.add(submit(channel, size, next++, true));
+                }
+                Chunk c = join(inflight.remove());
+                if (c.start != start) {
+                    c = parse(channel, start, c.limit, size, true);
+                }
+                for (final List<String> row : c.rows) {
+                    handler.row(number++, row);
+                }
+                start = c.end;
+            }
+        }
+    }
+
+    /**
+     * Reads all rows, handling them concurrently on the pool threads,
+     * as soon as the chunk they are in has been validated.
+     *
+     * @param handler to pass the rows to; must be thread-safe
+     * @throws IOException if the file cannot be read
+     */
+    public void forEach(final RowHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            final long n = chunks(size);
+            final Semaphore window = new Semaphore(2 * pool.getParallelism());
+            final AtomicBoolean failed = new AtomicBoolean();
+            final Chunk origin = new Chunk(0, 0);
+            CompletableFuture<Chunk> prev = CompletableFuture.completedFuture(origin);
+            final List<CompletableFuture<Void>> done = new ArrayList<>();
+            for (long k = 0; k < n; ++k) {
+                window.acquireUninterruptibly();
+                if (failed.get()) {
+                    // no use parsing the rest
+                    break;
+                }
+                final CompletableFuture<Chunk> validated = submit(channel, size, k, true)
+                  .thenCombineAsync(prev, (c, p) -> {
+                      final Chunk v = c.start == p.end ? c : parseUnchecked(channel, p.end, c.limit, size);
+                      v.first = p.first + p.count;
+                      return v;
+                  }, pool);
+                done.add(validated.thenAcceptAsync(c -> {
+                    long number = c.first;
+                    for (final List<String> row : c.rows) {
+                        handler.row(number++, row);
+                    }
+                    c.rows = null;
+                }, pool).whenComplete((v, t) -> {
+                    if (t != null) {
+                        failed.set(true);
+                    }
+                    window.release();
+                }));
+                prev = validated;
+            }
+            for (final CompletableFuture<Void> f : done) {
+                join(f);
+            }
+        }
+    }
+
+    /**
+     * Returns a sequential {@link Stream} over the rows of the file, in
+     * file order, as {@link CSVFileReader#readFields()} returns them;
+     * closing the stream closes the file.
+     *
+     * When made parallel, the stream is split along chunk boundaries,
+     * which, like the row counts, are found by a parallel pass over the
+     * file that only locates the rows, the first time it is split; from
+     * then on, it is {@link Spliterator#SIZED}. Each chunk is then parsed
+     * exactly once, by the thread processing its rows. A sequential stream
+     * simply reads the file once.
+     *
+     * {@link IOException}s during traversal are thrown as
+     * {@link UncheckedIOException}.
+     *
+     * @return stream of the rows of the file
+     * @throws IOException if the file cannot be opened
+     */
+    public Stream<List<String>> stream() throws IOException {
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            return StreamSupport.stream(spliterator(channel), false).onClose(() -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Creates a spliterator over the rows of the file.
+     *
+     * @param channel open on the file, to be closed by the caller
+     * @return spliterator as described in {@link #stream()}
+     * @throws IOException if the file size cannot be determined
+     */
+    Spliterator<List<String>> spliterator(final FileChannel channel) throws IOException {
+        return new RowSpliterator(channel, channel.size());
+    }
+
+    /**
+     * Spliterator over the rows of a range of chunks. The initial one
+     * covers the whole file and, if traversed without being split first,
+     * simply reads it sequentially without finding the chunk boundaries.
+     */
+    private final class RowSpliterator implements Spliterator<List<String>> {
+        private final FileChannel channel;
+        private final long size;
+        /**
+         * Exact start offsets of all chunks plus the file size, or null if not yet known.
+         */
+        private long[] starts;
+        /**
+         * Number of the first row of all chunks plus the number of rows.
+         */
+        private long[] firsts;
+        private int lo;
+        private int hi;
+        private CSVFileReader reader = null;
+        private long end;
+        private long taken = 0;
+        private boolean done = false;
+
+        private RowSpliterator(final FileChannel channel, final long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        private RowSpliterator(final RowSpliterator from, final int lo, final int hi) {
+            channel = from.channel;
+            size = from.size;
+            starts = from.starts;
+            firsts = from.firsts;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        private void bounds() {
+            if (starts == null) {
+                try {
+                    final long[][] b = boundaries(channel, size);
+                    starts = b[0];
+                    firsts = b[1];
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                lo = 0;
+                hi = starts.length - 1;
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super List<String>> action) {
+            if (done) {
+                return false;
+            }
+            final List<String> row;
+            try {
+                if (reader == null) {
+                    final long start = starts == null ? 0 : starts[lo];
+                    end = starts == null ? size : starts[hi];
+                    if (start >= end) {
+                        done = true;
+                        return false;
+                    }
+                    reader = open(channel, start);
+                }
+                row = reader.readFields();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (row == null || reader.rowOffset >= end) {
+                done = true;
+                reader = null;
+                return false;
+            }
+            ++taken;
+            action.accept(row);
+            return true;
+        }
+
+        @Override
+        public Spliterator<List<String>> trySplit() {
+            if (done || reader != null) {
+                return null;
+            }
+            bounds();
+            if (hi - lo < 2) {
+                return null;
+            }
+            final int mid = (lo + hi) >>> 1;
+            final RowSpliterator prefix = new RowSpliterator(this, lo, mid);
+            lo = mid;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            if (done) {
+                return 0;
+            }
+            if (starts == null) {
+                // not worth a pass over the file; there are no more rows than bytes
+                return size;
+            }
+            return firsts[hi] - firsts[lo] - taken;
+        }
+
+        @Override
+        public int characteristics() {
+            // the row counts are only known once split
+            return starts == null ? ORDERED | NONNULL : ORDERED | NONNULL | SIZED | SUBSIZED;
+        }
+    }
+
+    /**
+     * Finds the exact chunk boundaries and row counts by locating, but not
+     * decoding, the rows of all chunks in parallel, validating them like
+     * {@link #forEachOrdered(RowHandler)} does.
+     *
+     * @return start offsets of all chunks plus the file size, and the
+     * number of the first row of all chunks plus the number of rows
+     */
+    private long[][] boundaries(final FileChannel channel, final long size) throws IOException {
+        final long n = chunks(size);
+        if (n >= Integer.MAX_VALUE) {
+            throw new IllegalStateException("too many chunks, increase the chunk size");
+        }
+        final long[] starts = new long[(int) n + 1];
+        final long[] firsts = new long[(int) n + 1];
+        final int window = 2 * pool.getParallelism();
+        final Deque<CompletableFuture<Chunk>> inflight = new ArrayDeque<>();
+        long next = 0;
+        for (int k = 0; k < n; ++k) {
+            while (next < n && inflight.size() < window) {
+                inflight.add(submit(channel, size, next++, false));
+            }
+            Chunk c = join(inflight.remove());
+            if (c.start != starts[k]) {
+                c = parse(channel, starts[k], c.limit, size, false);
+            }
+            starts[k + 1] = c.end;
+            firsts[k + 1] = firsts[k] + c.count;
+        }
+        return new long[][] { starts, firsts };
+    }
+
+    private long chunks(final long size) {
+        return Math.max(1, (size + chunkSize - 1) / chunkSize);
+    }
+
+    private CompletableFuture<Chunk> submit(final FileChannel channel, final long size, final long k,
+      final boolean rows) {
+        final long nominal = k * chunkSize;
+        final long limit = nominal + chunkSize >= size ? Long.MAX_VALUE : nominal + chunkSize;
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return parse(channel, k == 0 ? 0 : afterLF(channel, nominal - 1, size), limit, size, rows);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, pool);
+    }
+
+    /**
+     * Finds the offset after the first LF at or after a position.
+     */
+    private static long afterLF(final FileChannel channel, final long from, final long size)
+      throws IOException {
+        final ChannelInputStream s = new ChannelInputStream(channel, from);
+        final byte[] b = new byte[8192];
+        long off = from;
+        int n;
+        while ((n = s.read(b, 0, b.length)) != -1) {
+            for (int i = 0; i < n; ++i) {
+                if (b[i] == '\n') {
+                    return off + i + 1;
+                }
+            }
+            off += n;
+        }
+        return size;
+    }
+
+    /**
+     * Opens a reader on the file starting at the given offset.
+     */
+    private CSVFileReader open(final FileChannel channel, final long start) {
+        final CSVFileReader r = newReader(new ChannelInputStream(channel, start));
+        if (!r.byteScanning()) {
+            throw new IllegalStateException("reader does not scan bytes");
+        }
+        r.bytes.offset = start;
+        return r;
+    }
+
+    /**
+     * Parses (or, unless rows, only counts) the rows starting at start before limit.
+     */
+    private Chunk parse(final FileChannel channel, final long start, final long limit, final long size,
+      final boolean rows) throws IOException {
+        final Chunk c = new Chunk(start, limit);
+        c.end = size;
+        if (start < size) {
+            final CSVFileReader r = open(channel, start);
+            while (true) {
+                final List<String> row = rows ? r.readFields() : null;
+                if (rows ? row == null : !r.skipRow()) {
+                    break;
+                }
+                if (r.rowOffset >= limit) {
+                    c.end = r.rowOffset;
+                    break;
+                }
+                if (rows) {
+                    c.rows.add(row);
+                }
+                ++c.count;
+            }
+        }
+        return c;
+    }
+
+    private Chunk parseUnchecked(final FileChannel channel, final long start, final long limit,
+      final long size) {
+        try {
+            return parse(channel, start, limit, size, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> T join(final CompletableFuture<T> f) throws IOException {
+        try {
+            return f.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
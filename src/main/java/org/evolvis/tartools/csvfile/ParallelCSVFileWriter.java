@@ -0,0 +1,306 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.io.CharArrayWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Writes rows handed in by several producer threads to a {@link CSVFileWriter},
+ * formatting them concurrently on the producer threads.
+ *
+ * Every row has a sequence number, starting at 0; each producer formats
+ * its rows into a chunk of characters, and the chunks are appended to the
+ * output in sequence order, by whichever producer completes the next one
+ * due, so the output is identical to writing the rows in sequence order
+ * with the output writer alone. Producers running too far ahead of the
+ * next row due wait for it to be written, which bounds the memory used;
+ * so a thread must not hand in rows before ones it is to hand in itself.
+ *
+ * <pre>{@code
+ * ParallelCSVFileWriter w = new ParallelCSVFileWriter(new CSVFileWriter(path));
+ * IntStream.range(0, rows.size()).parallel()
+ *   .forEach(i -> w.writeRow(i, toFields(rows.get(i))));
+ * w.close();
+ * }</pre>
+ */
+public class ParallelCSVFileWriter {
+    /**
+     * The default number of rows a producer may be ahead of the next row due.
+     */
+    public static final long DEFAULT_MAX_PENDING = 1L << 16;
+
+    /**
+     * Formatted rows waiting for their turn.
+     */
+    private static final class Chunk {
+        private final char[] data;
+        private final int rows;
+
+        private Chunk(final char[] data, final int rows) {
+            this.data = data;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * A writer formatting into a character array, used by one producer at a time.
+     */
+    private static final class Formatter {
+        private final CharArrayWriter sink = new CharArrayWriter(8192);
+        private final CSVFileWriter writer;
+
+        private Formatter(final ParallelCSVFileWriter p) {
+            writer = p.newFormatter(sink);
+        }
+    }
+
+    /**
+     * The writer the rows are written to.
+     */
+    protected final CSVFileWriter output;
+
+    private final ConcurrentLinkedQueue<Formatter> formatters = new ConcurrentLinkedQueue<>();
+    private final Object lock = new Object();
+    private final Map<Long, Chunk> ready = new HashMap<>();
+    private long next = 0;
+    private boolean writing = false;
+    private RuntimeException error = null;
+    private volatile long maxPending = DEFAULT_MAX_PENDING;
+
+    /**
+     * ParallelCSVFileWriter constructor.
+     *
+     * The rows are formatted like the output writer formats them, using
+     * its field separator, text qualifier and row separator, which must
+     * not be changed afterwards.
+     *
+     * @param output The writer to write the rows to; closed by {@link #close()}
+     */
+    public ParallelCSVFileWriter(final CSVFileWriter output) {
+        this.output = output;
+    }
+
+    /**
+     * Sets how many rows a producer may be ahead of the next row due
+     * before it waits.
+     *
+     * @param rows maximum distance in sequence numbers (default: 65536)
+     */
+    public void setMaxPending(final long rows) {
+        if (rows < 1) {
+            throw new IllegalArgumentException("maximum must be positive: " + rows);
+        }
+        maxPending = rows;
+    }
+
+    /**
+     * Creates the writer a producer formats rows with.
+     *
+     * By default, the output writer creates it: an {@link SSVFileWriter}
+     * if the output is one, and a {@link CSVFileWriter} with the separators
+     * and text qualifier of the output otherwise; subclasses must override
+     * this if the output formats fields by its own {@link CSVFileWriter#prepareField(Object)},
+     * so the rows are formatted the same way.
+     *
+     * @param writer to format the rows into
+     * @return a writer for it
+     */
+    protected CSVFileWriter newFormatter(final Writer writer) {
+        return output.newFormatter(writer);
+    }
+
+    /**
+     * Writes a row; may be called concurrently.
+     *
+     * @param sequence the sequence number of the row
+     * @param fields   the fields, as passed to {@link CSVFileWriter#writeFields(Iterable)}
+     * @throws IllegalArgumentException if the sequence number was already written
+     * @throws UncheckedIOException     if writing to the output failed
+     */
+    public void writeRow(final long sequence, final Iterable<?> fields) {
+        writeRows(sequence, Collections.singletonList(fields));
+    }
+
+    /**
+     * Writes rows with consecutive sequence numbers as one chunk; may be
+     * called concurrently. Handing in rows in batches reduces the overhead
+     * per row.
+     *
+     * @param first the sequence number of the first row
+     * @param rows  the fields of each row, as passed to {@link CSVFileWriter#writeFields(Iterable)}
+     * @throws IllegalArgumentException if a sequence number was already written,
+     *                                  or a field is rejected by the output format,
+     *                                  which fails all rows not yet written
+     * @throws UncheckedIOException     if writing to the output failed
+     */
+    public void writeRows(final long first, final List<? extends Iterable<?>> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        awaitTurn(first);
+        Formatter f = formatters.poll();
+        if (f == null) {
+            f = new Formatter(this);
+        }
+        final char[] data;
+        try {
+            for (final Iterable<?> fields : rows) {
+                f.writer.writeFields(fields);
+            }
+            f.writer.out.flush();
+            data = f.sink.toCharArray();
+        } catch (RuntimeException e) {
+            // the rows after these would wait for them forever
+            synchronized (lock) {
+                error = e;
+                lock.notifyAll();
+            }
+            throw e;
+        } finally {
+            // on error, discard what was formatted so far
+            f.writer.out.flush();
+            f.sink.reset();
+            formatters.add(f);
+        }
+        sequence(first, new Chunk(data, rows.size()));
+    }
+
+    /**
+     * Waits while a row is too far ahead of the next row due; in a
+     * {@link ForkJoinPool}, as managed blocker, so that the pool can run
+     * the tasks producing the rows due meanwhile.
+     */
+    private void awaitTurn(final long first) {
+        try {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                @Override
+                public boolean block() throws InterruptedException {
+                    synchronized (lock) {
+                        if (!isReleasable()) {
+                            lock.wait();
+                        }
+                    }
+                    return isReleasable();
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    synchronized (lock) {
+                        return error != null || first - next < maxPending;
+                    }
+                }
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // stop waiting, at the cost of memory
+        }
+        synchronized (lock) {
+            checkError();
+        }
+    }
+
+    /**
+     * Adds a chunk to the ready ones, then writes out all chunks due,
+     * unless another producer is doing so already.
+     */
+    private void sequence(final long first, final Chunk c) {
+        synchronized (lock) {
+            checkError();
+            if (first < next || ready.containsKey(first)) {
+                throw new IllegalArgumentException("sequence number already written: " + first);
+            }
+            ready.put(first, c);
+            if (writing) {
+                return;
+            }
+            writing = true;
+        }
+        while (true) {
+            final Chunk w;
+            synchronized (lock) {
+                w = ready.remove(next);
+                if (w == null) {
+                    writing = false;
+                    lock.notifyAll();
+                    return;
+                }
+            }
+            try {
+                output.writeFormatted(w.data, 0, w.data.length);
+            } catch (RuntimeException e) {
+                synchronized (lock) {
+                    error = e;
+                    writing = false;
+                    lock.notifyAll();
+                }
+                throw e;
+            }
+            synchronized (lock) {
+                next += w.rows;
+                lock.notifyAll();
+            }
+        }
+    }
+
+    private void checkError() {
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Waits for all rows handed in to be written, then closes the output.
+     *
+     * @throws IllegalStateException if rows are missing from the sequence;
+     *                               the rows before them are written
+     * @throws UncheckedIOException  if writing to the output failed
+     */
+    public void close() {
+        final long missing;
+        try {
+            synchronized (lock) {
+                while (writing) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+                checkError();
+                missing = ready.isEmpty() ? -1 : next;
+            }
+        } finally {
+            output.close();
+        }
+        if (missing != -1) {
+            throw new IllegalStateException("rows missing from sequence number " + missing);
+        }
+    }
+}
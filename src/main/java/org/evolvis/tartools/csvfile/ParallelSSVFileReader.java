@@ -0,0 +1,73 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * {@link ParallelCSVFileReader} subclass to read the SSV format in parallel.
+ *
+ * As LF never occurs inside an SSV record, chunk boundaries always are
+ * found right away, and no chunk ever needs to be parsed again.
+ *
+ * @see SSVFileReader
+ */
+public class ParallelSSVFileReader extends ParallelCSVFileReader {
+    private boolean unixNewline = false;
+
+    /**
+     * ParallelSSVFileReader constructor.
+     *
+     * The SSV file is assumed to be in, and will be read using, UTF-8 encoding.
+     *
+     * @param inputFile The SSV file to be read
+     */
+    public ParallelSSVFileReader(final Path inputFile) {
+        super(inputFile, StandardCharsets.UTF_8, (char) 0x1F, (char) 0);
+    }
+
+    /**
+     * Switches the reader to use Unix (LF only) instead of the native
+     * underlying system’s newline on decoding embedded newlines.
+     *
+     * @see SSVFileReader#useUnixNewline()
+     */
+    public void useUnixNewline() {
+        unixNewline = true;
+    }
+
+    /**
+     * Creates the sequential reader used to parse a chunk.
+     *
+     * @param stream the chunk data, continuing to the end of the file
+     * @return an {@link SSVFileReader} for the stream
+     */
+    @Override
+    protected CSVFileReader newReader(final InputStream stream) {
+        final SSVFileReader r = new SSVFileReader(stream);
+        if (unixNewline) {
+            r.useUnixNewline();
+        }
+        return r;
+    }
+}
@@ -0,0 +1,210 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * {@link Reader} reading and decoding its source ahead on a background
+ * thread, so that I/O latency and charset decoding overlap with parsing.
+ *
+ * A fixed ring of character blocks circulates between the thread, which
+ * fills free blocks, and the caller, which consumes filled ones and hands
+ * them back; the thread waits when all blocks are filled. Errors from the
+ * source are thrown to the caller after the data read before them.
+ */
+final class PrefetchReader extends Reader {
+    /**
+     * Default number of characters in a block.
+     */
+    static final int BLOCK_SIZE = 65536;
+
+    private static final class Block {
+        private final char[] data;
+        private int len;
+        private boolean last;
+        private Throwable error;
+
+        private Block(final int size) {
+            data = new char[size];
+        }
+    }
+
+    private final Reader src;
+    private final BlockingQueue<Block> free;
+    private final BlockingQueue<Block> full;
+    private final Thread thread;
+    private Block cur = null;
+    private int cpos = 0;
+    private volatile boolean closed = false;
+
+    /**
+     * Starts reading ahead.
+     *
+     * @param src    the reader to read from, on the background thread
+     * @param blocks number of blocks in the ring, at least 1
+     */
+    PrefetchReader(final Reader src, final int blocks) {
+        this(src, blocks, BLOCK_SIZE);
+    }
+
+    /**
+     * Starts reading ahead, using a given block size.
+     *
+     * @param src       the reader to read from, on the background thread
+     * @param blocks    number of blocks in the ring, at least 1
+     * @param blockSize number of characters in a block
+     */
+    PrefetchReader(final Reader src, final int blocks, final int blockSize) {
+        if (blocks < 1) {
+            throw new IllegalArgumentException("invalid number of blocks: " + blocks);
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("invalid block size: " + blockSize);
+        }
+        this.src = src;
+        free = new ArrayBlockingQueue<>(blocks);
+        full = new ArrayBlockingQueue<>(blocks);
+        for (int i = 0; i < blocks; ++i) {
+            free.add(new Block(blockSize));
+        }
+        thread = new Thread(this::prefetch, "csvfile-reader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Body of the background thread: fills free blocks until EOF, error
+     * or close. Anything thrown by the source ends the data, so the caller
+     * never waits for a block that will not come.
+     */
+    private void prefetch() {
+        try {
+            boolean last = false;
+            while (!last && !closed) {
+                final Block b = free.take();
+                b.len = 0;
+                try {
+                    while (b.len < b.data.length) {
+                        final int n = src.read(b.data, b.len, b.data.length - b.len);
+                        if (n == -1) {
+                            last = true;
+                            break;
+                        }
+                        b.len += n;
+                    }
+                } catch (Throwable t) {
+                    b.error = t;
+                    last = true;
+                }
+                b.last = last;
+                // never blocks, there are no more blocks than the queue holds
+                full.put(b);
+            }
+        } catch (InterruptedException e) {
+            // closed
+        }
+    }
+
+    @Override
+    public int read(final char[] cbuf, final int off, final int len) throws IOException {
+        if (closed) {
+            throw new IOException("stream closed");
+        }
+        if (len == 0) {
+            return 0;
+        }
+        while (cur == null || cpos == cur.len) {
+            if (cur != null) {
+                if (cur.last) {
+                    if (cur.error != null) {
+                        throw rethrow(cur.error);
+                    }
+                    return -1;
+                }
+                free.add(cur);
+                cur = null;
+            }
+            try {
+                cur = full.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("interrupted waiting for input");
+            }
+            cpos = 0;
+        }
+        final int n = Math.min(len, cur.len - cpos);
+        System.arraycopy(cur.data, cpos, cbuf, off, n);
+        cpos += n;
+        return n;
+    }
+
+    /**
+     * Prepares an error from the source to be thrown to the caller;
+     * unchecked ones are thrown right away.
+     *
+     * @param t thrown on the background thread
+     * @return t if it is an {@link IOException}, otherwise one wrapping it
+     */
+    private static IOException rethrow(final Throwable t) {
+        if (t instanceof IOException) {
+            return (IOException) t;
+        }
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new IOException(t);
+    }
+
+    @Override
+    public boolean ready() {
+        return !closed && (cur != null && cpos < cur.len || !full.isEmpty());
+    }
+
+    /**
+     * Stops the background thread, waits for it to finish reading,
+     * then closes the source.
+     *
+     * @throws IOException if closing the source fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            // stop waiting, the source is closed under the thread
+        }
+        src.close();
+    }
+}
@@ -0,0 +1,283 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.util.Arrays;
+
+/**
+ * Block of rows in columnar layout, filled by {@link CSVFileReader#readBlock(RowBlock)}
+ * and meant to be reused across calls so that reading does not allocate
+ * once its arrays have grown to size.
+ *
+ * The contents of all fields are stored one after another in a shared
+ * character array; for each column, there is an array of offsets into
+ * it and an array of lengths, indexed by row, so a column can be walked
+ * in a tight loop:
+ *
+ * <pre>{@code
+ * final RowBlock block = new RowBlock();
+ * while (reader.readBlock(block) > 0) {
+ *     final char[] chars = block.getChars();
+ *     final int[] off = block.getOffsets(2);
+ *     final int[] len = block.getLengths(2);
+ *     for (int row = 0; row < block.getRowCount(); ++row) {
+ *         if (len[row] != -1) {
+ *             sum += parse(chars, off[row], len[row]);
+ *         }
+ *     }
+ * }
+ * }</pre>
+ *
+ * Rows may have differing numbers of fields; a field not present in a
+ * row has a length of -1. All arrays are only valid until the block is
+ * filled again.
+ */
+public class RowBlock {
+    /**
+     * The default maximum number of rows per block.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private final int capacity;
+    private int rows = 0;
+    private int columns = 0;
+    private char[] chars = new char[8192];
+    private int used = 0;
+    private int[][] offsets = new int[0][];
+    private int[][] lengths = new int[0][];
+    private final int[] fieldCounts;
+
+    /**
+     * Creates a block for up to {@link #DEFAULT_CAPACITY} rows.
+     */
+    public RowBlock() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a block for up to the given number of rows.
+     *
+     * @param capacity maximum number of rows per block
+     */
+    public RowBlock(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        fieldCounts = new int[capacity];
+    }
+
+    /**
+     * Gets the maximum number of rows per block.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Gets the number of rows in the block.
+     *
+     * @return number of rows
+     */
+    public int getRowCount() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of columns in the block, that is, the largest
+     * number of fields of any of its rows.
+     *
+     * @return number of columns
+     */
+    public int getColumnCount() {
+        return columns;
+    }
+
+    /**
+     * Gets the number of fields of a row.
+     *
+     * @param row index of the row, starting at 0
+     * @return number of fields
+     */
+    public int getFieldCount(final int row) {
+        checkRow(row);
+        return fieldCounts[row];
+    }
+
+    /**
+     * Gets the character array holding the contents of all fields.
+     *
+     * @return shared character array
+     */
+    public char[] getChars() {
+        return chars;
+    }
+
+    /**
+     * Gets the offsets of the fields of a column into {@link #getChars()}.
+     *
+     * @param column index of the column, starting at 0
+     * @return offsets, indexed by row; only the first {@link #getRowCount()} are valid
+     */
+    public int[] getOffsets(final int column) {
+        checkColumn(column);
+        return offsets[column];
+    }
+
+    /**
+     * Gets the lengths of the fields of a column.
+     *
+     * @param column index of the column, starting at 0
+     * @return lengths, indexed by row, -1 if the row has no such field;
+     * only the first {@link #getRowCount()} are valid
+     */
+    public int[] getLengths(final int column) {
+        checkColumn(column);
+        return lengths[column];
+    }
+
+    /**
+     * Copies a field into a new String.
+     *
+     * @param row    index of the row, starting at 0
+     * @param column index of the column, starting at 0
+     * @return the field contents, or null if the row has no such field
+     */
+    public String getString(final int row, final int column) {
+        checkRow(row);
+        checkColumn(column);
+        final int len = lengths[column][row];
+        return len == -1 ? null : new String(chars, offsets[column][row], len);
+    }
+
+    private void checkRow(final int row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException("row " + row + " of " + rows);
+        }
+    }
+
+    private void checkColumn(final int column) {
+        if (column < 0 || column >= columns) {
+            throw new IndexOutOfBoundsException("column " + column + " of " + columns);
+        }
+    }
+
+    /**
+     * Empties the block for filling it again.
+     */
+    void clear() {
+        rows = 0;
+        columns = 0;
+        used = 0;
+    }
+
+    /**
+     * Checks whether another row fits.
+     *
+     * @return true if the block is full
+     */
+    boolean isFull() {
+        return rows == capacity;
+    }
+
+    /**
+     * Appends a field to the row being added.
+     *
+     * @param field index of the field in the row
+     * @param src   array holding the contents
+     * @param off   offset of the contents in src
+     * @param len   length of the contents
+     */
+    void addField(final int field, final char[] src, final int off, final int len) {
+        final int at = reserve(field, len);
+        System.arraycopy(src, off, chars, at, len);
+    }
+
+    /**
+     * Appends a field to the row being added.
+     *
+     * @param field index of the field in the row
+     * @param s     the contents
+     */
+    void addField(final int field, final CharSequence s) {
+        final int len = s.length();
+        final int at = reserve(field, len);
+        if (s instanceof String) {
+            ((String) s).getChars(0, len, chars, at);
+        } else {
+            for (int i = 0; i < len; ++i) {
+                chars[at + i] = s.charAt(i);
+            }
+        }
+    }
+
+    /**
+     * Allocates room for a field of the row being added and records it.
+     *
+     * @return offset into {@link #chars} to copy the contents to
+     */
+    private int reserve(final int field, final int len) {
+        if (field >= columns) {
+            addColumns(field + 1);
+        }
+        if (len > chars.length - used) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, used + len));
+        }
+        final int at = used;
+        offsets[field][rows] = at;
+        lengths[field][rows] = len;
+        used += len;
+        return at;
+    }
+
+    private void addColumns(final int n) {
+        if (n > offsets.length) {
+            final int size = Math.max(n, offsets.length * 2);
+            final int old = offsets.length;
+            offsets = Arrays.copyOf(offsets, size);
+            lengths = Arrays.copyOf(lengths, size);
+            for (int c = old; c < size; ++c) {
+                offsets[c] = new int[capacity];
+                lengths[c] = new int[capacity];
+            }
+        }
+        // earlier rows of this block do not have the new columns
+        for (int c = columns; c < n; ++c) {
+            Arrays.fill(lengths[c], 0, rows, -1);
+        }
+        columns = n;
+    }
+
+    /**
+     * Finishes the row being added.
+     *
+     * @param nfields number of fields added to it
+     */
+    void endRow(final int nfields) {
+        for (int c = nfields; c < columns; ++c) {
+            offsets[c][rows] = used;
+            lengths[c][rows] = -1;
+        }
+        fieldCounts[rows++] = nfields;
+    }
+}
@@ -0,0 +1,313 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Index of the byte offsets of every Nth row of a CSV or SSV file, for
+ * reading from any row on without parsing all rows before it.
+ *
+ * The index is built by scanning the file once, locating rows on the raw
+ * bytes like {@link ParallelCSVFileReader} does, so newlines in quoted
+ * fields are handled. It can be kept next to the file as sidecar; it
+ * records size and modification time of the file and is not loaded if
+ * they have changed since:
+ *
+ * <pre>{@code
+ * final Path idx = RowIndex.sidecar(file);
+ * RowIndex index = RowIndex.load(file, idx);
+ * if (index == null) {
+ *     index = RowIndex.build(file, StandardCharsets.UTF_8, ',', '"', RowIndex.DEFAULT_INTERVAL);
+ *     index.save(idx);
+ * }
+ * final CSVFileReader r = index.openAt(48000000);
+ * final List<String> row = r.readFields();
+ * r.close();
+ * }</pre>
+ *
+ * Seeking to a row skips at most interval−1 rows after the nearest
+ * indexed one, which are only located, not decoded.
+ *
+ * The file must be in UTF-8 or an ASCII-compatible single-byte charset,
+ * and field separator and text qualifier must be ASCII characters.
+ */
+public final class RowIndex {
+    /**
+     * The default number of rows per index entry.
+     */
+    public static final int DEFAULT_INTERVAL = 1024;
+
+    private static final int MAGIC = 0x43535649;
+    private static final int VERSION = 1;
+
+    private final Path file;
+    private final Charset charset;
+    private final char fieldSeparator;
+    private final char textQualifier;
+    private final boolean ssv;
+    private final int interval;
+    private final long fileSize;
+    private final long fileTime;
+    private final long rows;
+    private final long[] offsets;
+
+    private RowIndex(final Path file, final Charset charset, final char sep, final char qual,
+      final boolean ssv, final int interval, final long fileSize, final long fileTime,
+      final long rows, final long[] offsets) {
+        this.file = file;
+        this.charset = charset;
+        fieldSeparator = sep;
+        textQualifier = qual;
+        this.ssv = ssv;
+        this.interval = interval;
+        this.fileSize = fileSize;
+        this.fileTime = fileTime;
+        this.rows = rows;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Builds the index of a CSV file.
+     *
+     * @param file     The CSV file to index
+     * @param charset  The charset of the file
+     * @param sep      The field separator used in the file
+     * @param qual     The text qualifier used in the file
+     * @param interval The number of rows per index entry
+     * @return the index
+     * @throws IOException              if the file cannot be read
+     * @throws IllegalArgumentException if record boundaries cannot be found on raw bytes
+     */
+    public static RowIndex build(final Path file, final Charset charset, final char sep, final char qual,
+      final int interval) throws IOException {
+        return build(file, charset, sep, qual, false, interval);
+    }
+
+    /**
+     * Builds the index of an SSV file.
+     *
+     * The SSV file is assumed to be in UTF-8 encoding.
+     *
+     * @param file     The SSV file to index
+     * @param interval The number of rows per index entry
+     * @return the index
+     * @throws IOException if the file cannot be read
+     */
+    public static RowIndex buildSSV(final Path file, final int interval) throws IOException {
+        return build(file, StandardCharsets.UTF_8, (char) 0x1F, (char) 0, true, interval);
+    }
+
+    private static RowIndex build(final Path file, final Charset charset, final char sep, final char qual,
+      final boolean ssv, final int interval) throws IOException {
+        if (!ByteWindow.supports(charset) || sep > 0x7F || qual > 0x7F) {
+            throw new IllegalArgumentException("row index needs an ASCII-compatible charset " +
+              "and ASCII field separator and text qualifier");
+        }
+        if (interval < 1) {
+            throw new IllegalArgumentException("interval must be positive: " + interval);
+        }
+        final long size = Files.size(file);
+        final long time = Files.getLastModifiedTime(file).toMillis();
+        long[] offsets = new long[16];
+        long n = 0;
+        int k = 0;
+        final CSVFileReader r = newReader(Files.newInputStream(file), charset, sep, qual, ssv);
+        try {
+            while (r.skipRow()) {
+                if (n % interval == 0) {
+                    if (k == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, k * 2);
+                    }
+                    offsets[k++] = r.rowOffset;
+                }
+                ++n;
+            }
+        } finally {
+            r.close();
+        }
+        return new RowIndex(file, charset, sep, qual, ssv, interval, size, time, n,
+          Arrays.copyOf(offsets, k));
+    }
+
+    private static CSVFileReader newReader(final InputStream stream, final Charset charset,
+      final char sep, final char qual, final boolean ssv) {
+        return ssv ? new SSVFileReader(stream) : new CSVFileReader(stream, charset, sep, qual);
+    }
+
+    /**
+     * Gets the default name of the sidecar index file of a file.
+     *
+     * @param file the CSV or SSV file
+     * @return the file with “.idx” appended to its name
+     */
+    public static Path sidecar(final Path file) {
+        return file.resolveSibling(file.getFileName() + ".idx");
+    }
+
+    /**
+     * Writes the index to a file.
+     *
+     * @param indexFile the file to write to, see {@link #sidecar(Path)}
+     * @throws IOException if the index file cannot be written
+     */
+    public void save(final Path indexFile) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+          Files.newOutputStream(indexFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(fileSize);
+            out.writeLong(fileTime);
+            out.writeBoolean(ssv);
+            out.writeUTF(charset.name());
+            out.writeChar(fieldSeparator);
+            out.writeChar(textQualifier);
+            out.writeInt(interval);
+            out.writeLong(rows);
+            out.writeInt(offsets.length);
+            for (final long offset : offsets) {
+                out.writeLong(offset);
+            }
+        }
+    }
+
+    /**
+     * Reads the index of a file from an index file written by {@link #save(Path)}.
+     *
+     * @param file      the CSV or SSV file
+     * @param indexFile the index file, see {@link #sidecar(Path)}
+     * @return the index, or null if there is no index file or it was
+     * built for a different size or modification time of the file
+     * @throws IOException if the index file cannot be read or is not an index
+     */
+    public static RowIndex load(final Path file, final Path indexFile) throws IOException {
+        if (!Files.exists(indexFile)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+          Files.newInputStream(indexFile)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("not a row index: " + indexFile);
+            }
+            final long size = in.readLong();
+            final long time = in.readLong();
+            if (size != Files.size(file) || time != Files.getLastModifiedTime(file).toMillis()) {
+                return null;
+            }
+            final boolean ssv = in.readBoolean();
+            final Charset charset = Charset.forName(in.readUTF());
+            final char sep = in.readChar();
+            final char qual = in.readChar();
+            final int interval = in.readInt();
+            final long rows = in.readLong();
+            final long[] offsets = new long[in.readInt()];
+            for (int k = 0; k < offsets.length; ++k) {
+                offsets[k] = in.readLong();
+            }
+            return new RowIndex(file, charset, sep, qual, ssv, interval, size, time, rows, offsets);
+        }
+    }
+
+    /**
+     * Checks whether the file still has the size and modification time
+     * it had when the index was built.
+     *
+     * @return true if the index is still valid
+     * @throws IOException if the file attributes cannot be read
+     */
+    public boolean isCurrent() throws IOException {
+        return Files.size(file) == fileSize &&
+          Files.getLastModifiedTime(file).toMillis() == fileTime;
+    }
+
+    /**
+     * Gets the number of rows in the file.
+     *
+     * @return number of rows
+     */
+    public long getRowCount() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of rows per index entry.
+     *
+     * @return interval
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Opens a reader on the file positioned at a row, so the next call to
+     * {@link CSVFileReader#readFields()} or {@link CSVFileReader#nextRow()}
+     * returns it; {@link CSVFileReader#getRowNumber()} continues from there.
+     *
+     * For an SSV file, the reader is an {@link SSVFileReader}.
+     *
+     * @param row the number of the row, starting at 0; the row count to open at EOF
+     * @return the reader, to be closed by the caller
+     * @throws IOException               if the file cannot be read
+     * @throws IndexOutOfBoundsException if there is no such row
+     */
+    public CSVFileReader openAt(final long row) throws IOException {
+        if (row < 0 || row > rows) {
+            throw new IndexOutOfBoundsException("row " + row + " of " + rows);
+        }
+        final int k = (int) (row / interval);
+        final long start = k < offsets.length ? offsets[k] : fileSize;
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        final CSVFileReader r;
+        try {
+            channel.position(start);
+            r = newReader(Channels.newInputStream(channel), charset, fieldSeparator, textQualifier, ssv);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        r.bytes.offset = start;
+        try {
+            for (long n = (long) k * interval; n < row; ++n) {
+                if (!r.skipRow()) {
+                    throw new IOException("file changed since it was indexed: " + file);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            r.close();
+            throw e;
+        }
+        r.positionAt(row);
+        return r;
+    }
+}
@@ -25,9 +25,11 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.Reader;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 
 /**
@@ -65,6 +67,39 @@ public class SSVFileReader extends CSVFileReader {
      */
     public SSVFileReader(final String inputFileName) throws FileNotFoundException {
         this(new FileInputStream(inputFileName));
+        fileSource(inputFileName, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * SSVFileReader constructor memory-mapping an existing SSV file to read.
+     *
+     * The SSV file is assumed to be in, and will be decoded using, UTF-8 encoding.
+     *
+     * @param inputFile The SSV file to be mapped for reading
+     * @throws IOException if the file cannot be opened or mapped
+     * @see CSVFileReader#CSVFileReader(Path, java.nio.charset.Charset)
+     */
+    public SSVFileReader(final Path inputFile) throws IOException {
+        this(new MappedFileReader(inputFile, StandardCharsets.UTF_8));
+        sourceFile = inputFile;
+        sourceCharset = StandardCharsets.UTF_8;
+    }
+
+    /**
+     * SSVFileReader constructor resuming reading an SSV file at a checkpoint
+     * taken by {@link CSVFileReader#getCheckpoint()} on a reader of the same file.
+     *
+     * The SSV file is assumed to be in, and will be read using, UTF-8 encoding.
+     *
+     * @param inputFile  The SSV file to be read
+     * @param checkpoint The position to continue reading at
+     * @throws IOException if the file cannot be opened or read
+     * @see CSVFileReader#CSVFileReader(Path, java.nio.charset.Charset, char, char, Checkpoint)
+     */
+    public SSVFileReader(final Path inputFile, final Checkpoint checkpoint) throws IOException {
+        super(FileChannel.open(inputFile, StandardOpenOption.READ), StandardCharsets.UTF_8,
+          (char) 0x1F, (char) 0);
+        resume(checkpoint);
     }
 
     /**
@@ -75,7 +110,20 @@ public class SSVFileReader extends CSVFileReader {
      * @param stream The {@link InputStream} for reading CSV data
      */
     public SSVFileReader(final InputStream stream) {
-        this(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        super(stream, StandardCharsets.UTF_8, (char) 0x1F, (char) 0);
+    }
+
+    /**
+     * SSVFileReader constructor reading an InputStream ahead on a background thread.
+     *
+     * The SSV file is assumed to be in, and will be read using, UTF-8 encoding.
+     *
+     * @param stream   The {@link InputStream} for reading CSV data
+     * @param prefetch The number of blocks to read ahead, at least 1
+     * @see CSVFileReader#CSVFileReader(InputStream, java.nio.charset.Charset, char, char, int)
+     */
+    public SSVFileReader(final InputStream stream, final int prefetch) {
+        super(stream, StandardCharsets.UTF_8, (char) 0x1F, (char) 0, prefetch);
     }
 
     /**
@@ -116,74 +164,103 @@ public class SSVFileReader extends CSVFileReader {
         throw new UnsupportedOperationException("SSV does not have a quote character");
     }
 
-    static final int BUFSIZ = 4096;
-    private static final char[] BUF = new char[BUFSIZ];
-
     /**
      * Something like {@link BufferedReader#readLine()} except stops at LF only.
      *
+     * Reads from the reader’s own character window, so every instance
+     * can be used on its own thread, and each character is read once.
+     *
      * @return String next line or null if EOF
-     * @throws IOException whenever the underlying BufferedReader throws one
+     * @throws IOException whenever the underlying Reader throws one
      */
     String inReadLine() throws IOException {
-        boolean found = false;
-        StringBuilder sb = null;
-
-        while (!found) {
-            in.mark(BUFSIZ + 2);
-            int nch = in.read(BUF, 0, BUFSIZ);
-            if (sb == null) {
-                // nothing read yet
-                if (nch == -1) {
-                    // EOF reached
-                    return null;
-                }
-                sb = new StringBuilder();
-            } else if (nch == -1) {
-                // EOF reached but something was read, assume EOL at EOF
-                break;
-            }
-            for (int i = 0; i < nch; i++) {
-                if (BUF[i] == (char) 0x0A) {
-                    sb.append(BUF, 0, i);
-                    in.reset();
-                    nch = i + 1;
-                    while (nch != 0) {
-                        nch -= in.skip(nch);
-                    }
-                    found = true;
-                    break;
-                }
+        if (!beginSSVLine()) {
+            return null;
+        }
+        while (true) {
+            final char[] b = buf;
+            final int l = lim;
+            int p = pos;
+            while (p < l && b[p] != '\n') {
+                ++p;
             }
-            if (!found) {
-                sb.append(BUF, 0, nch);
+            pos = p;
+            if (p < l || !fill()) {
+                break;
             }
         }
-
-        return sb.toString();
+        final String s = new String(buf, rowStart, pos - rowStart);
+        if (pos < lim) {
+            // the LF
+            ++pos;
+        }
+        return s;
     }
 
     /**
      * Splits the next line of the input SSV file into fields.
      *
+     * The line is scanned in a single pass over the reader’s window; when
+     * reading UTF-8 from an {@link InputStream}, fields are located on
+     * the raw bytes and only their contents are decoded. Subclasses
+     * overriding {@link #readFields(String)} or the line-based parsing
+     * hooks are served line by line through the former instead.
+     *
      * @return List of String containing each field from the next line of the file
      * @throws IOException if an error occurs while reading the new line from the file
      */
     @Override
     public List<String> readFields() throws IOException {
-        String line = inReadLine();
-
-        if (line == null) {
-            return null;
-        }
+        return super.readFields();
+    }
 
+    @Override
+    String nextLine() throws IOException {
+        final String line = inReadLine();
         /* handle POSIX shell terminating line at NUL */
-        if (line.indexOf(0) != -1) {
-            line = line.substring(0, line.indexOf(0));
+        if (line != null && line.indexOf(0) != -1) {
+            return line.substring(0, line.indexOf(0));
         }
+        return line;
+    }
 
-        // assert: line does not contain NUL or LF
-        return readFields(line);
+    @Override
+    boolean scanRow() throws IOException {
+        return byteScanning() ? scanBytes(true, true) : scanSSVRow();
+    }
+
+    @Override
+    boolean hasLineHooks() {
+        // those of this class are mirrored by scanRow()
+        return overridesLineHooks(SSVFileReader.class);
+    }
+
+    @Override
+    boolean hasFieldHooks() {
+        // those of this class are mirrored by cursorRow() and blockField()
+        return hasLineHooks() || overridesFieldHooks(SSVFileReader.class);
+    }
+
+    @Override
+    boolean skipRow() throws IOException {
+        return scanBytes(true, false);
+    }
+
+    @Override
+    ParallelCSVFileReader parallelReader() {
+        final int max = getMaxFieldSize();
+        final ParallelSSVFileReader p = new ParallelSSVFileReader(sourceFile) {
+            @Override
+            protected CSVFileReader newReader(final InputStream stream) {
+                final CSVFileReader r = super.newReader(stream);
+                r.setMaxFieldSize(max);
+                return r;
+            }
+        };
+        if (LF.equals(decodeNewline)) {
+            p.useUnixNewline();
+        }
+        return p;
     }
 
     /**
@@ -211,6 +288,38 @@ public class SSVFileReader extends CSVFileReader {
         fields.add(field.replace(CR, decodeNewline));
     }
 
+    @Override
+    boolean cursorRow() {
+        final char nl = decodeNewline.length() == 1 ? decodeNewline.charAt(0) : 0;
+        for (int k = 0; k < nf; ++k) {
+            final int e = fend[k];
+            for (int i = fbeg[k]; i < e; ++i) {
+                if (buf[i] == '\r') {
+                    if (nl == 0) {
+                        // embedded newline of two characters, rare enough to not avoid allocating
+                        return false;
+                    }
+                    buf[i] = nl;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    void blockField(final RowBlock block, final int k) {
+        final int b = fbeg[k];
+        final int e = fend[k];
+        for (int i = b; i < e; ++i) {
+            if (buf[i] == '\r') {
+                // embedded newline, rare enough to not avoid allocating
+                block.addField(k, new String(buf, b, e - b).replace(CR, decodeNewline));
+                return;
+            }
+        }
+        block.addField(k, buf, b, e - b);
+    }
+
     /**
      * Switches the reader to use Unix (LF only) instead of the native
      * underlying system’s newline on decoding embedded newlines.
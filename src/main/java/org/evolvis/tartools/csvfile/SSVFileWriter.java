@@ -24,6 +24,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Writer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
 
 /**
  * {@link CSVFileWriter} subclass to write the SSV format:
@@ -60,6 +62,34 @@ public class SSVFileWriter extends CSVFileWriter {
         this(new FileOutputStream(outputFileName));
     }
 
+    /**
+     * SSVFileWriter constructor writing an SSV file through a {@link java.nio.channels.FileChannel}.
+     *
+     * The SSV file will be written in UTF-8 encoding, in blocks of 1 MiB;
+     * an existing file is truncated.
+     *
+     * @param outputFile The SSV file to be opened for writing
+     * @throws IOException if an error occurs while creating the file
+     * @see CSVFileWriter#CSVFileWriter(Path, char, char, int)
+     */
+    public SSVFileWriter(final Path outputFile) throws IOException {
+        this(outputFile, ByteWriter.FILE_BUFFER_SIZE);
+    }
+
+    /**
+     * SSVFileWriter constructor writing an SSV file through a
+     * {@link java.nio.channels.FileChannel} with a given buffer size.
+     *
+     * @param outputFile The SSV file to be opened for writing
+     * @param bufferSize The size of the blocks written, in bytes
+     * @throws IOException if an error occurs while creating the file
+     * @see CSVFileWriter#CSVFileWriter(Path, char, char, int)
+     */
+    public SSVFileWriter(final Path outputFile, final int bufferSize) throws IOException {
+        super(outputFile, (char) 0x1F, (char) 0, bufferSize);
+        rowSeparator = LF;
+    }
+
     /**
      * SSVFileWriter constructor just needing an OutputStream for the data to write.
      *
@@ -72,6 +102,18 @@ public class SSVFileWriter extends CSVFileWriter {
         rowSeparator = LF;
     }
 
+    /**
+     * SSVFileWriter constructor just needing a channel for the data to write.
+     *
+     * The SSV file will be written in UTF-8 encoding.
+     *
+     * @param channel The {@link WritableByteChannel} for writing CSV data
+     */
+    public SSVFileWriter(final WritableByteChannel channel) {
+        super(channel, (char) 0x1F, (char) 0);
+        rowSeparator = LF;
+    }
+
     /**
      * SSVFileWriter constructor.
      *
@@ -130,6 +172,14 @@ public class SSVFileWriter extends CSVFileWriter {
     @Override
     protected String prepareField(final Object field) {
         final String fieldString = field == null ? "" : field.toString();
+        checkField(fieldString);
+        if (fieldString.indexOf(0x0D) == -1 && fieldString.indexOf(0x0A) == -1) {
+            return fieldString;
+        }
+        return fieldString.replace(CRLF, CR).replace((char) 0x0A, (char) 0x0D);
+    }
+
+    private static void checkField(final String fieldString) {
         if (fieldString.indexOf(0x00) != -1) {
             throw new IllegalArgumentException(String.format("%s (\\x%02X) found in field: %s",
               "NUL", 0, fieldString));
@@ -138,9 +188,53 @@ public class SSVFileWriter extends CSVFileWriter {
             throw new IllegalArgumentException(String.format("%s (\\x%02X) found in field: %s",
               "US", 0x1F, fieldString));
         }
-        if (fieldString.indexOf(0x0D) == -1 && fieldString.indexOf(0x0A) == -1) {
-            return fieldString;
+    }
+
+    @Override
+    boolean hasFieldHooks() {
+        // prepareField() of this class is mirrored by finishField()
+        return overrides(getClass(), SSVFileWriter.class, "prepareField", Object.class);
+    }
+
+    @Override
+    CSVFileWriter newFormatter(final Writer writer) {
+        return new SSVFileWriter(writer);
+    }
+
+    @Override
+    boolean quotes() {
+        return false;
+    }
+
+    /**
+     * Appends the field copied to the end of the row buffer like
+     * {@link #prepareField(Object)} does, converting newlines in place
+     * in a single pass.
+     *
+     * @param start offset of the field in the row buffer
+     * @param end   end of the field
+     * @param field the field as passed, for error messages
+     */
+    @Override
+    void finishField(final int start, final int end, final CharSequence field) {
+        final char[] b = rowBuf;
+        int o = start;
+        for (int i = start; i < end; ++i) {
+            final char c = b[i];
+            if (c < 0x20) {
+                if (c == 0x00 || c == 0x1F) {
+                    checkField(field.toString());
+                } else if (c == 0x0D) {
+                    if (i + 1 < end && b[i + 1] == 0x0A) {
+                        ++i;
+                    }
+                } else if (c == 0x0A) {
+                    b[o++] = 0x0D;
+                    continue;
+                }
+            }
+            b[o++] = c;
         }
-        return fieldString.replace(CRLF, CR).replace((char) 0x0A, (char) 0x0D);
+        rowLen = o;
     }
 }
@@ -0,0 +1,55 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ByteScanner} comparing a whole vector of bytes at a time using
+ * the incubating Vector API; only used if the {@code jdk.incubator.vector}
+ * module is present at runtime, the remainder is left to the superclass.
+ */
+final class VectorByteScanner extends ByteScanner {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    @Override
+    int find(final byte[] b, final int from, final int to,
+      final int s1, final int s2, final int s3) {
+        final int n = SPECIES.length();
+        int p = from;
+        if (to - p >= n) {
+            final byte c1 = (byte) (s1 == NONE ? '\n' : s1);
+            final byte c2 = (byte) (s2 == NONE ? '\n' : s2);
+            final byte c3 = (byte) (s3 == NONE ? '\n' : s3);
+            while (to - p >= n) {
+                final ByteVector v = ByteVector.fromArray(SPECIES, b, p);
+                final VectorMask<Byte> m = v.eq((byte) '\n').or(v.eq(c1)).or(v.eq(c2)).or(v.eq(c3));
+                if (m.anyTrue()) {
+                    return p + m.firstTrue();
+                }
+                p += n;
+            }
+        }
+        return super.find(b, p, to, s1, s2, s3);
+    }
+}
@@ -0,0 +1,773 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link CSVFileReader} that need package access to the
+ * row scanner and can’t be in {@link org.evolvis.tartools.csvfile.testsuite.CSVFileTest}
+ */
+public class CSVFileReaderTest {
+    private static final String[] CASES = {
+      "",
+      "a",
+      "a,b,c\n",
+      "a,b,\n,\n\n",
+      "\"a\",\"b\"\"c\",d\r\ne\rf\r\n\r\n",
+      "\"a\nb\r\nc\rd\",e\n",
+      "\"a\"x,\"b\n",
+      "\"unterminated\nx,y",
+      "\"trailing\n",
+      "a\"b,\"c\"\"\"\n\"\"\n\"",
+    };
+
+    /**
+     * Reader handing out at most two characters per call.
+     */
+    private static final class TrickleReader extends Reader {
+        private final String s;
+        private int p = 0;
+
+        private TrickleReader(final String s) {
+            this.s = s;
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) {
+            if (p >= s.length()) {
+                return -1;
+            }
+            final int n = Math.min(Math.min(len, 2), s.length() - p);
+            s.getChars(p, p + n, cbuf, off);
+            p += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Uses the line-based parser by overriding one of its hooks.
+     */
+    private static final class LineReader extends CSVFileReader {
+        private LineReader(final Reader reader) {
+            super(reader);
+        }
+
+        @Override
+        protected boolean fieldIsQuoted(final int i) {
+            return super.fieldIsQuoted(i);
+        }
+    }
+
+    private static List<List<String>> readAll(final CSVFileReader r) throws IOException {
+        final List<List<String>> rows = new ArrayList<>();
+        List<String> fields;
+        while ((fields = r.readFields()) != null) {
+            rows.add(fields);
+        }
+        assertNull(r.readFields());
+        r.close();
+        return rows;
+    }
+
+    @Test
+    public void testPosScannerMatchesLineParser() throws IOException {
+        for (final String s : CASES) {
+            final List<List<String>> exp = readAll(new LineReader(new StringReader(s)));
+            assertEquals(s, exp, readAll(new CSVFileReader(new StringReader(s))));
+            // tiny window, forcing compaction and growth mid-field
+            final CSVFileReader r = new CSVFileReader(new TrickleReader(s));
+            r.buf = new char[1];
+            assertEquals(s, exp, readAll(r));
+        }
+    }
+
+    @Test
+    public void testPosScannerFields() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new TrickleReader(CASES[4]));
+        r.buf = new char[3];
+        assertEquals(Arrays.asList("a", "b\"c", "d"), r.readFields());
+        assertEquals(Arrays.asList("e"), r.readFields());
+        assertEquals(Arrays.asList("f"), r.readFields());
+        assertEquals(Arrays.asList(""), r.readFields());
+        assertNull(r.readFields());
+    }
+
+    @Test
+    public void testPosNextLine() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new TrickleReader("a\r\nb\rc\n\nd"));
+        r.buf = new char[2];
+        assertEquals("a", r.nextLine());
+        assertEquals("b", r.nextLine());
+        assertEquals("c", r.nextLine());
+        assertEquals("", r.nextLine());
+        assertEquals("d", r.nextLine());
+        assertNull(r.nextLine());
+    }
+
+    @Test
+    public void testPosNextLineAfterScan() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new TrickleReader("h,\"x\r\ny\"\r\nb\rc\n\nd"));
+        r.buf = new char[4];
+        assertEquals(Arrays.asList("h", "x\ny"), r.readFields());
+        assertEquals("b", r.nextLine());
+        assertEquals("c", r.nextLine());
+        assertEquals("", r.nextLine());
+        assertEquals("d", r.nextLine());
+        assertNull(r.nextLine());
+    }
+
+    @Test
+    public void testPosReadFieldsFromLine() throws IOException {
+        final String s = "a,\"x\ny\",b\nc,d\ne,f\n";
+        for (final CSVFileReader r : new CSVFileReader[] {
+          new CSVFileReader(new StringReader(s)),
+          new LineReader(new StringReader(s)),
+        }) {
+            assertEquals(Arrays.asList("a", "x\ny", "b"), r.readFields(r.in.readLine()));
+            assertEquals(Arrays.asList("c", "d"), r.readFields(r.in.readLine()));
+            assertEquals(Arrays.asList("e", "f"), r.readFields(r.in.readLine()));
+            assertNull(r.readFields(r.in.readLine()));
+        }
+    }
+
+    private static List<String> upper(final List<String> fields) {
+        if (fields != null) {
+            fields.replaceAll(String::toUpperCase);
+        }
+        return fields;
+    }
+
+    @Test
+    public void testPosReadFieldsFromLineOverridden() throws IOException {
+        final String s = "a,\"x\ny\",b\nc,d\n";
+        final byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        for (final CSVFileReader r : new CSVFileReader[] {
+          new CSVFileReader(new StringReader(s)) {
+              @Override
+              public List<String> readFields(final String firstLine) throws IOException {
+                  return upper(super.readFields(firstLine));
+              }
+          },
+          new CSVFileReader(new ByteArrayInputStream(b), "UTF-8") {
+              @Override
+              public List<String> readFields(final String firstLine) throws IOException {
+                  return upper(super.readFields(firstLine));
+              }
+          },
+        }) {
+            assertEquals(Arrays.asList("A", "X\nY", "B"), r.readFields());
+            assertTrue(r.nextRow());
+            assertEquals("D", r.getField(1).toString());
+            assertFalse(r.nextRow());
+        }
+        final String t = "a\u001Fb\rc\u0000x\nd\n";
+        final SSVFileReader sr = new SSVFileReader(new ByteArrayInputStream(t.getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public List<String> readFields(final String firstLine) throws IOException {
+                return upper(super.readFields(firstLine));
+            }
+        };
+        sr.useUnixNewline();
+        assertEquals(Arrays.asList("A", "B\nC"), sr.readFields());
+        assertTrue(sr.nextRow());
+        assertEquals("D", sr.getField(0).toString());
+        assertFalse(sr.nextRow());
+    }
+
+    @Test
+    public void testPosOverloadIsNoHook() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new StringReader("a,b\n")) {
+            @SuppressWarnings("unused")
+            public List<String> readFields(final int n) throws IOException {
+                return readFields().subList(0, n);
+            }
+
+            @SuppressWarnings("unused")
+            protected void addField(final List<String> fields, final CharSequence field) {
+                fields.add(field.toString());
+            }
+        };
+        assertTrue(r.nextRow());
+        // still the cursor view, not a list read through readFields()
+        assertFalse(r.getField(0) instanceof String);
+    }
+
+    private static String manyLines(final int n) {
+        final StringBuilder sb = new StringBuilder("x,\"");
+        for (int i = 0; i < n; ++i) {
+            sb.append("line\r\n");
+        }
+        return sb.append("\",y\n").toString();
+    }
+
+    @Test
+    public void testPosManyContinuationLines() throws IOException {
+        final String s = manyLines(100000);
+        final List<List<String>> exp = readAll(new CSVFileReader(new StringReader(s)));
+        assertEquals(1, exp.size());
+        assertEquals(3, exp.get(0).size());
+        assertEquals(100000 * 5, exp.get(0).get(1).length());
+        assertEquals(exp, readAll(new LineReader(new StringReader(s))));
+    }
+
+    @Test(expected = IOException.class)
+    public void testNegMaxFieldSize() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new StringReader(manyLines(1000)));
+        r.setMaxFieldSize(4096);
+        r.readFields();
+    }
+
+    @Test(expected = IOException.class)
+    public void testNegMaxFieldSizeLineParser() throws IOException {
+        final CSVFileReader r = new LineReader(new StringReader(manyLines(1000)));
+        r.setMaxFieldSize(4096);
+        r.readFields();
+    }
+
+    @Test
+    public void testPosMaxFieldSize() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new StringReader(manyLines(1000)));
+        r.setMaxFieldSize(5000);
+        assertEquals(5000, r.readFields().get(1).length());
+    }
+
+    @Test
+    public void testPosMaxFieldSizeCountsCharacters() throws IOException {
+        for (final String s : new String[] { "a,ééé,b\n", "a,\"é\"\"é\",b\n", "𝄞𝄞\n" }) {
+            for (final CSVFileReader r : new CSVFileReader[] {
+              new CSVFileReader(new StringReader(s)),
+              new CSVFileReader(new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8)), "UTF-8"),
+            }) {
+                r.setMaxFieldSize(4);
+                assertNotNull(s, r.readFields());
+                r.close();
+            }
+        }
+        for (final String s : new String[] { "a,ééééé,b\n", "a,\"é\"\"é\"\"é\",b\n", "𝄞𝄞𝄞\n" }) {
+            final CSVFileReader r = new CSVFileReader(new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8)),
+              "UTF-8");
+            r.setMaxFieldSize(4);
+            try {
+                r.readFields();
+                fail(s);
+            } catch (IOException e) {
+                assertEquals("field exceeds maximum size of 4 characters", e.getMessage());
+            }
+        }
+    }
+
+    private static List<List<String>> cursorAll(final CSVFileReader r) throws IOException {
+        final List<List<String>> rows = new ArrayList<>();
+        while (r.nextRow()) {
+            final List<String> fields = new ArrayList<>();
+            for (int i = 0; i < r.getFieldCount(); ++i) {
+                final CharSequence f = r.getField(i);
+                assertEquals(r.getFieldLength(i), f.length());
+                assertEquals(r.getFieldString(i), f.toString());
+                fields.add(f.toString());
+            }
+            rows.add(fields);
+        }
+        assertEquals(0, r.getFieldCount());
+        r.close();
+        return rows;
+    }
+
+    @Test
+    public void testPosCursorMatchesReadFields() throws IOException {
+        for (final String s : CASES) {
+            final List<List<String>> exp = readAll(new CSVFileReader(new StringReader(s)));
+            assertEquals(s, exp, cursorAll(new CSVFileReader(new StringReader(s))));
+            assertEquals(s, exp, cursorAll(new LineReader(new StringReader(s))));
+        }
+    }
+
+    @Test
+    public void testPosCursorViews() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new StringReader("abc,\"d\"\"e\"\nfg\n"));
+        assertTrue(r.nextRow());
+        assertEquals(2, r.getFieldCount());
+        final CharSequence f = r.getField(1);
+        assertEquals('"', f.charAt(1));
+        assertEquals("\"e", f.subSequence(1, 3).toString());
+        assertTrue(r.nextRow());
+        assertEquals(1, r.getFieldCount());
+        final CharSequence g = r.getField(0);
+        assertSame(r.getField(0), g);
+        assertEquals("fg", g.toString());
+        assertFalse(r.nextRow());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNegCursorIndex() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new StringReader("a,b\n"));
+        assertTrue(r.nextRow());
+        r.getField(2);
+    }
+
+    @Test
+    public void testPosTypedFields() throws IOException {
+        for (final CSVFileReader r : new CSVFileReader[] {
+          new CSVFileReader(new StringReader("-2147483648,9223372036854775807,1.5e3,TRUE,2024-02-29,-0.10\n")),
+          new LineReader(new StringReader("-2147483648,9223372036854775807,1.5e3,TRUE,2024-02-29,-0.10\n")),
+        }) {
+            assertTrue(r.nextRow());
+            assertEquals(Integer.MIN_VALUE, r.getInt(0));
+            assertEquals(Long.MAX_VALUE, r.getLong(1));
+            assertEquals(1500.0, r.getDouble(2), 0.0);
+            assertTrue(r.getBoolean(3));
+            assertEquals(LocalDate.of(2024, 2, 29), r.getLocalDate(4));
+            assertEquals(new BigDecimal("-0.10"), r.getBigDecimal(5));
+            assertEquals(1, r.getRowNumber());
+        }
+    }
+
+    @Test
+    public void testPosDoubleMatchesJDK() {
+        final Random rnd = new Random(1);
+        final String[] fixed = {
+          "0", "-0", "+1", ".5", "5.", "1e22", "1e23", "123456789012345", "1234567890123456",
+          "0.000001", "1E-5", "4.9e-324", "1.7976931348623157E308", "NaN", "-Infinity", "0x1p3", "1d",
+        };
+        for (final String s : fixed) {
+            assertEquals(s, Double.parseDouble(s), FieldParser.parseDouble(s.toCharArray(), 0, s.length()), 0.0);
+        }
+        for (int round = 0; round < 10000; ++round) {
+            final String s = (rnd.nextLong() % 100000000000L) + "." + rnd.nextInt(100000) +
+              (rnd.nextBoolean() ? "e" + (rnd.nextInt(60) - 30) : "");
+            assertEquals(s, Double.doubleToLongBits(Double.parseDouble(s)),
+              Double.doubleToLongBits(FieldParser.parseDouble(s.toCharArray(), 0, s.length())));
+        }
+    }
+
+    @Test
+    public void testNegTypedFields() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new StringReader("x\n1,2147483648,,maybe,2021-02-30\n"));
+        assertTrue(r.nextRow());
+        assertTrue(r.nextRow());
+        final String[] msgs = new String[5];
+        try {
+            r.getInt(1);
+        } catch (NumberFormatException e) {
+            msgs[1] = e.getMessage();
+        }
+        try {
+            r.getLong(2);
+        } catch (NumberFormatException e) {
+            msgs[2] = e.getMessage();
+        }
+        try {
+            r.getBoolean(3);
+        } catch (IllegalArgumentException e) {
+            msgs[3] = e.getMessage();
+        }
+        try {
+            r.getLocalDate(4);
+        } catch (DateTimeParseException e) {
+            msgs[4] = e.getMessage();
+        }
+        assertEquals("row 2, column 2: integer out of range: \"2147483648\"", msgs[1]);
+        assertEquals("row 2, column 3: not an integer: \"\"", msgs[2]);
+        assertEquals("row 2, column 4: not a boolean: \"maybe\"", msgs[3]);
+        assertEquals("row 2, column 5: not a date: \"2021-02-30\"", msgs[4]);
+    }
+
+    @Test
+    public void testPosPrefetch() throws IOException {
+        for (final String s : CASES) {
+            final List<List<String>> exp = readAll(new CSVFileReader(new StringReader(s)));
+            for (final int blocks : new int[] { 1, 3 }) {
+                assertEquals(s, exp, readAll(new CSVFileReader(
+                  new PrefetchReader(new TrickleReader(s), blocks, 3))));
+            }
+            assertEquals(s, exp, cursorAll(new CSVFileReader(new ByteArrayInputStream(
+              s.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8, ',', '"', 2)));
+        }
+        final byte[] ssv = "a\u001Fb\nc\rd\n".getBytes(StandardCharsets.UTF_8);
+        assertEquals(readAll(new SSVFileReader(new ByteArrayInputStream(ssv))),
+          readAll(new SSVFileReader(new ByteArrayInputStream(ssv), 2)));
+    }
+
+    @Test
+    public void testNegPrefetchError() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new PrefetchReader(new Reader() {
+            private boolean done = false;
+
+            @Override
+            public int read(final char[] cbuf, final int off, final int len) throws IOException {
+                if (done) {
+                    throw new IOException("connection reset");
+                }
+                done = true;
+                "a,b\n".getChars(0, 4, cbuf, off);
+                return 4;
+            }
+
+            @Override
+            public void close() {
+            }
+        }, 2, 16));
+        assertEquals(Arrays.asList("a", "b"), r.readFields());
+        try {
+            r.readFields();
+            throw new AssertionError("no error");
+        } catch (IOException e) {
+            assertEquals("connection reset", e.getMessage());
+        }
+        r.close();
+    }
+
+    @Test(timeout = 10000)
+    public void testNegPrefetchRuntimeError() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new PrefetchReader(new Reader() {
+            private boolean done = false;
+
+            @Override
+            public int read(final char[] cbuf, final int off, final int len) {
+                if (done) {
+                    throw new IllegalStateException("decoder broken");
+                }
+                done = true;
+                "a,b\n".getChars(0, 4, cbuf, off);
+                return 4;
+            }
+
+            @Override
+            public void close() {
+            }
+        }, 2, 16));
+        assertEquals(Arrays.asList("a", "b"), r.readFields());
+        try {
+            r.readFields();
+            fail("no error");
+        } catch (IllegalStateException e) {
+            assertEquals("decoder broken", e.getMessage());
+        }
+        r.close();
+    }
+
+    @Test(timeout = 10000)
+    public void testPosPrefetchCloseWaits() throws IOException {
+        final AtomicBoolean reading = new AtomicBoolean();
+        final AtomicBoolean closedWhileReading = new AtomicBoolean();
+        final PrefetchReader r = new PrefetchReader(new Reader() {
+            @Override
+            public int read(final char[] cbuf, final int off, final int len) {
+                reading.set(true);
+                // a slow source not reacting to interrupts
+                final long t = System.nanoTime();
+                while (System.nanoTime() - t < 20000000L) {
+                    Thread.yield();
+                }
+                cbuf[off] = 'x';
+                reading.set(false);
+                return 1;
+            }
+
+            @Override
+            public void close() {
+                closedWhileReading.set(reading.get());
+            }
+        }, 2, 4);
+        // the thread is filling the next block meanwhile
+        assertEquals('x', r.read());
+        r.close();
+        assertFalse(closedWhileReading.get());
+    }
+
+    private static final String WIDE = "id,name,x,price\n1,ä,\"a,b\",2.5\n2,\"q\"\"q\"\n3,c,,4\n";
+
+    private static final List<List<String>> PROJECTED = Arrays.asList(
+      Arrays.asList("2.5", "1", "ä"),
+      Arrays.asList("", "2", "q\"q"),
+      Arrays.asList("4", "3", "c"));
+
+    @Test
+    public void testPosProjection() throws IOException {
+        final byte[] b = WIDE.getBytes(StandardCharsets.UTF_8);
+        for (final CSVFileReader r : new CSVFileReader[] {
+          new CSVFileReader(new StringReader(WIDE)),
+          new CSVFileReader(new ByteArrayInputStream(b), "UTF-8"),
+          new LineReader(new StringReader(WIDE)),
+        }) {
+            assertEquals(Arrays.asList("id", "name", "x", "price"), r.readHeader());
+            assertEquals(3, r.getColumnIndex("price"));
+            assertEquals(-1, r.getColumnIndex("nope"));
+            r.setProjection("price", "id", "name");
+            assertEquals(PROJECTED, readAll(r));
+        }
+        for (final CSVFileReader r : new CSVFileReader[] {
+          new CSVFileReader(new ByteArrayInputStream(b), "UTF-8"),
+          new LineReader(new StringReader(WIDE)),
+        }) {
+            r.readHeader();
+            r.setProjection(3, 0, 1);
+            assertEquals(PROJECTED, cursorAll(r));
+        }
+        final CSVFileReader r = new CSVFileReader(new ByteArrayInputStream(b), "UTF-8");
+        r.readHeader();
+        r.setProjection(3, 0, 1);
+        final RowBlock block = new RowBlock();
+        assertEquals(3, r.readBlock(block));
+        assertEquals("q\"q", block.getString(1, 2));
+        assertEquals("", block.getString(1, 0));
+        r.clearProjection();
+        assertNull(r.readFields());
+    }
+
+    @Test
+    public void testPosProjectionSSV() throws IOException {
+        final byte[] b = "a\u001Fb\u001Fc\n1\u001F2\r3\u001F4\n".getBytes(StandardCharsets.UTF_8);
+        for (final SSVFileReader r : new SSVFileReader[] {
+          new SSVFileReader(new ByteArrayInputStream(b)),
+          new SSVFileReader(new InputStreamReader(new ByteArrayInputStream(b), StandardCharsets.UTF_8)),
+        }) {
+            r.useUnixNewline();
+            r.readHeader();
+            r.setProjection("c", "b");
+            assertEquals(Arrays.asList("4", "2\n3"), r.readFields());
+            assertNull(r.readFields());
+        }
+    }
+
+    @Test
+    public void testPosFilter() throws IOException {
+        final byte[] b = WIDE.getBytes(StandardCharsets.UTF_8);
+        for (final CSVFileReader r : new CSVFileReader[] {
+          new CSVFileReader(new StringReader(WIDE)),
+          new CSVFileReader(new ByteArrayInputStream(b), "UTF-8"),
+          new LineReader(new StringReader(WIDE)),
+        }) {
+            r.readHeader();
+            // column past the end of the second row tests as empty
+            r.setFilter("price", (chars, offset, length) -> length > 0);
+            r.setProjection("name", "x");
+            assertEquals(Arrays.asList(Arrays.asList("ä", "a,b"), Arrays.asList("c", "")), readAll(r));
+        }
+        for (final CSVFileReader r : new CSVFileReader[] {
+          new CSVFileReader(new StringReader(WIDE)),
+          new CSVFileReader(new ByteArrayInputStream(b), "UTF-8"),
+        }) {
+            r.readHeader();
+            r.setFilter(1, CSVFileReader.FieldFilter.equalTo("q\"q"));
+            assertTrue(r.nextRow());
+            assertEquals("2", r.getFieldString(0));
+            assertFalse(r.nextRow());
+        }
+        final CSVFileReader r = new CSVFileReader(new ByteArrayInputStream(b), "UTF-8");
+        r.setFilter(0, CSVFileReader.FieldFilter.equalTo("3"));
+        final RowBlock block = new RowBlock();
+        assertEquals(1, r.readBlock(block));
+        assertEquals("c", block.getString(0, 1));
+        r.setFilter(0, null);
+        assertEquals(0, r.readBlock(block));
+    }
+
+    @Test
+    public void testPosFilterSSV() throws IOException {
+        final byte[] b = "a\u001Fb\n1\u001F2\r3\n4\u001F5\n".getBytes(StandardCharsets.UTF_8);
+        for (final SSVFileReader r : new SSVFileReader[] {
+          new SSVFileReader(new ByteArrayInputStream(b)),
+          new SSVFileReader(new InputStreamReader(new ByteArrayInputStream(b), StandardCharsets.UTF_8)),
+        }) {
+            r.useUnixNewline();
+            r.readHeader();
+            r.setFilter("b", CSVFileReader.FieldFilter.equalTo("2\r3"));
+            assertEquals(Arrays.asList("1", "2\n3"), r.readFields());
+            assertNull(r.readFields());
+        }
+    }
+
+    private static void checkResume(final Path f, final boolean ssv) throws IOException {
+        final List<List<String>> exp = readAll(ssv ? new SSVFileReader(f) :
+          new CSVFileReader(f, StandardCharsets.UTF_8));
+        final List<String> header = exp.get(0);
+        for (int k = 0; k < exp.size(); ++k) {
+            final CSVFileReader r = ssv ? new SSVFileReader(Files.newInputStream(f)) :
+              new CSVFileReader(Files.newInputStream(f), "UTF-8");
+            assertEquals(header, r.readHeader());
+            for (int i = 0; i < k; ++i) {
+                assertTrue(r.nextRow());
+            }
+            final CSVFileReader.Checkpoint c = r.getCheckpoint();
+            r.close();
+            assertEquals(k, c.getRow());
+            final CSVFileReader.Checkpoint t = CSVFileReader.Checkpoint.parse(c.toString());
+            assertEquals(c, t);
+            final CSVFileReader q = ssv ? new SSVFileReader(f, t) :
+              new CSVFileReader(f, StandardCharsets.UTF_8, ',', '"', t);
+            assertEquals(header, q.getHeader());
+            if (k + 1 < exp.size()) {
+                assertTrue(q.nextRow());
+                assertEquals(k + 1, q.getRowNumber());
+                assertEquals(exp.get(k + 1).get(0), q.getFieldString(0));
+            }
+            assertEquals(exp.subList(Math.min(k + 2, exp.size()), exp.size()), readAll(q));
+        }
+    }
+
+    @Test
+    public void testPosCheckpoint() throws IOException {
+        final Path csv = Files.createTempFile("csvfile", ".csv");
+        final Path ssv = Files.createTempFile("csvfile", ".ssv");
+        try {
+            Files.write(csv, "h1,h2\r\na,\"b\r\nc\"\r\n\r\nä€,x\rq,\"\"\"\"\n\"\n\"\r\n".getBytes(StandardCharsets.UTF_8));
+            checkResume(csv, false);
+            Files.write(ssv, "h1\u001Fh2\na\u001Fb\rc\n\nä€\u001Fx\n".getBytes(StandardCharsets.UTF_8));
+            checkResume(ssv, true);
+        } finally {
+            Files.delete(csv);
+            Files.delete(ssv);
+        }
+    }
+
+    @Test
+    public void testNegCheckpoint() {
+        for (final String token : new String[] { "", "1:2", "1:2:3:4", "-1:0:0", "1:x:0", "1:2:4" }) {
+            try {
+                CSVFileReader.Checkpoint.parse(token);
+                assertTrue(token, false);
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+        try {
+            new CSVFileReader(new StringReader(WIDE)).getCheckpoint();
+            assertTrue(false);
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegProjectionName() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new StringReader(WIDE));
+        r.readHeader();
+        r.setProjection("nope");
+    }
+
+    @Test
+    public void testPosByteScannerMatchesCharScanner() throws IOException {
+        for (final String c : CASES) {
+            final String s = c.replace("a", "ä").replace("b", "🐈");
+            for (final Charset cs : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1 }) {
+                final byte[] b = s.getBytes(cs);
+                final List<List<String>> exp = readAll(new CSVFileReader(
+                  new InputStreamReader(new ByteArrayInputStream(b), cs)));
+                final CSVFileReader r = new CSVFileReader(new ByteArrayInputStream(b), cs.name());
+                assertNotNull(r.bytes);
+                // tiny window, forcing compaction and growth mid-field
+                r.bytes.buf = new byte[1];
+                assertEquals(s, exp, readAll(r));
+            }
+        }
+    }
+
+    @Test
+    public void testPosByteScannerCharsets() {
+        assertTrue(ByteWindow.supports(StandardCharsets.UTF_8));
+        assertTrue(ByteWindow.supports(StandardCharsets.US_ASCII));
+        assertTrue(ByteWindow.supports(StandardCharsets.ISO_8859_1));
+        assertFalse(ByteWindow.supports(StandardCharsets.UTF_16));
+        assertFalse(ByteWindow.supports(StandardCharsets.UTF_16LE));
+    }
+
+    private static int naiveFind(final byte[] b, final int from, final int to,
+      final int s1, final int s2, final int s3) {
+        int p = from;
+        while (p < to && b[p] != '\n' && b[p] != s1 && b[p] != s2 && b[p] != s3) {
+            ++p;
+        }
+        return p;
+    }
+
+    @Test
+    public void testPosByteScannerFind() {
+        final Random rnd = new Random(1);
+        final byte[] alphabet = { 'a', ',', '"', '\r', '\n', 0, (byte) 0x80, (byte) 0xAC, (byte) 0xFF, 0x7F };
+        final ByteScanner swar = new ByteScanner();
+        final ByteScanner best = ByteScanner.create();
+        for (int round = 0; round < 2000; ++round) {
+            final byte[] b = new byte[rnd.nextInt(200)];
+            for (int i = 0; i < b.length; ++i) {
+                // mostly plain bytes so stops can be far apart
+                b[i] = rnd.nextInt(8) == 0 ? alphabet[rnd.nextInt(alphabet.length)] : (byte) ('b' + rnd.nextInt(20));
+            }
+            final int from = b.length == 0 ? 0 : rnd.nextInt(b.length);
+            final int to = from + rnd.nextInt(b.length - from + 1);
+            final int[][] stops = {
+              { ',', '\r', ByteScanner.NONE },
+              { '"', '\r', ByteScanner.NONE },
+              { 0x1F, ByteScanner.NONE, 0 },
+              { ByteScanner.NONE, ByteScanner.NONE, ByteScanner.NONE },
+              { 0x7F, 'a', ',' },
+            };
+            for (final int[] s : stops) {
+                final int exp = naiveFind(b, from, to, s[0], s[1], s[2]);
+                assertEquals(exp, swar.find(b, from, to, s[0], s[1], s[2]));
+                assertEquals(exp, best.find(b, from, to, s[0], s[1], s[2]));
+            }
+        }
+    }
+
+    @Test
+    public void testPosByteScannerFallback() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new ByteArrayInputStream(
+          "a,b\r\n\nc§d\n".getBytes(StandardCharsets.UTF_8)), "UTF-8");
+        assertEquals(Arrays.asList("a", "b"), r.readFields());
+        r.setFieldSeparator('§');
+        assertEquals(Arrays.asList(""), r.readFields());
+        assertNull(r.bytes);
+        assertEquals(Arrays.asList("c", "d"), r.readFields());
+        assertNull(r.readFields());
+    }
+}
@@ -0,0 +1,302 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CSVFileWriter} that need package access to the
+ * row buffer and can’t be in {@link org.evolvis.tartools.csvfile.testsuite.CSVFileTest}
+ */
+public class CSVFileWriterTest {
+    private static String write(final char sep, final char qual, final Object... fields) {
+        final StringWriter sw = new StringWriter();
+        final CSVFileWriter w = new CSVFileWriter(sw, sep, qual);
+        w.writeFields(Arrays.asList(fields));
+        w.close();
+        return sw.toString();
+    }
+
+    @Test
+    public void testPosQuoting() {
+        assertEquals("a,\"b,c\",\"d\"\"e\"\"\",\"\nf\",,\"\r\"\n",
+          write(',', '"', "a", "b,c", "d\"e\"", "\nf", null, "\r"));
+        assertEquals("x\t!y\t!\t!!!z!\n", write('\t', '!', "x", "y\t", "!z"));
+    }
+
+    @Test
+    public void testPosRegexQualifier() {
+        // used to be passed to String.replaceAll as regex
+        assertEquals("ab,.c..d.\n", write(',', '.', "ab", "c.d"));
+        assertEquals("$a$$,b$\n", write(',', '$', "a$,b"));
+    }
+
+    @Test
+    public void testPosLargeField() {
+        final char[] c = new char[3 * CSVFileWriter.ROW_BUFFER_SIZE];
+        Arrays.fill(c, '"');
+        final String s = new String(c);
+        final StringBuilder exp = new StringBuilder("x,\"");
+        exp.append(s).append(s).append("\"\n");
+        assertEquals(exp.toString(), write(',', '"', "x", s));
+    }
+
+    private static String writeTyped(final CSVFileWriter w, final StringWriter sw) {
+        w.beginRow();
+        w.writeField(0);
+        w.writeField(-12);
+        w.writeField(Integer.MIN_VALUE);
+        w.writeField(Long.MIN_VALUE);
+        w.writeField(Long.MAX_VALUE);
+        w.writeField(1.5e-7);
+        w.writeField(-0.0);
+        w.writeField(Double.NaN);
+        w.writeField(Double.NEGATIVE_INFINITY);
+        w.writeField(true);
+        w.writeField(new StringBuilder("a\"b"));
+        w.writeField((CharSequence) null);
+        w.endRow();
+        w.close();
+        return sw.toString();
+    }
+
+    @Test
+    public void testPosTypedFields() {
+        final List<Object> exp = Arrays.asList(0, -12, Integer.MIN_VALUE,
+          Long.MIN_VALUE, Long.MAX_VALUE, 1.5e-7, -0.0, Double.NaN,
+          Double.NEGATIVE_INFINITY, true, "a\"b", null);
+        // separators and qualifiers occurring in formatted numbers
+        final char[][] seps = { { ',', '"' }, { '-', '"' }, { ',', '1' }, { 'E', '.' }, { 'N', 'a' } };
+        for (final char[] sq : seps) {
+            final StringWriter sw = new StringWriter();
+            assertEquals(write(sq[0], sq[1], exp.toArray()),
+              writeTyped(new CSVFileWriter(sw, sq[0], sq[1]), sw));
+        }
+        final StringWriter sw = new StringWriter();
+        final SSVFileWriter w = new SSVFileWriter(sw);
+        final StringWriter ew = new StringWriter();
+        final SSVFileWriter e = new SSVFileWriter(ew);
+        e.writeFields(exp);
+        e.close();
+        assertEquals(ew.toString(), writeTyped(w, sw));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegTypedFieldsSSV() {
+        final SSVFileWriter w = new SSVFileWriter(new StringWriter());
+        w.beginRow();
+        w.writeField(1);
+        w.writeField(new StringBuilder("a\u001Fb"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNegTypedFieldsNoRow() {
+        new CSVFileWriter(new StringWriter()).writeField(1);
+    }
+
+    @Test
+    public void testPosBytesMatchOutputStreamWriter() {
+        final Random rnd = new Random(1);
+        final char[] alphabet = { 'a', ',', '"', '\n', 'ä', '€', '\uD83D', '\uDC08', '\uDFFF', '\u07FF', '\u0800' };
+        for (int round = 0; round < 500; ++round) {
+            final Object[] fields = new String[rnd.nextInt(5)];
+            for (int k = 0; k < fields.length; ++k) {
+                final char[] c = new char[rnd.nextInt(20)];
+                for (int i = 0; i < c.length; ++i) {
+                    c[i] = alphabet[rnd.nextInt(alphabet.length)];
+                }
+                fields[k] = new String(c);
+            }
+            final ByteArrayOutputStream exp = new ByteArrayOutputStream();
+            final CSVFileWriter we = new CSVFileWriter(new OutputStreamWriter(exp, StandardCharsets.UTF_8));
+            we.writeFields(Arrays.asList(fields));
+            we.close();
+            final ByteArrayOutputStream act = new ByteArrayOutputStream();
+            // tiny buffer, so characters are split across drains
+            final CSVFileWriter wa = new CSVFileWriter(new ByteWriter(act, 4), ',', '"');
+            wa.writeFields(Arrays.asList(fields));
+            wa.close();
+            assertArrayEquals(exp.toByteArray(), act.toByteArray());
+        }
+    }
+
+    @Test
+    public void testPosChannel() {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        final CSVFileWriter w = new CSVFileWriter(Channels.newChannel(os));
+        w.writeFields(Arrays.asList("ä", "b,c"));
+        w.close();
+        assertEquals("ä,\"b,c\"\n", new String(os.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testNegBytesWriteError() {
+        final OutputStream full = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("No space left on device");
+            }
+        };
+        final CSVFileWriter w = new CSVFileWriter(new ByteWriter(full, 16), ',', '"');
+        for (int i = 0; i < 10; ++i) {
+            w.writeFields(Arrays.asList("abc", "def"));
+        }
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testNegBytesCloseError() {
+        final CSVFileWriter w = new CSVFileWriter(new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("No space left on device");
+            }
+        });
+        w.writeFields(Arrays.asList("abc", "def"));
+        w.close();
+    }
+
+    @Test
+    public void testPosBlockWrites() {
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        final WritableByteChannel out = Channels.newChannel(os);
+        final List<Integer> sizes = new ArrayList<>();
+        final CSVFileWriter w = new CSVFileWriter(new ByteWriter(new WritableByteChannel() {
+            @Override
+            public int write(final ByteBuffer src) throws IOException {
+                sizes.add(src.remaining());
+                return out.write(src);
+            }
+
+            @Override
+            public boolean isOpen() {
+                return true;
+            }
+
+            @Override
+            public void close() {
+            }
+        }, 8), ',', '"');
+        final StringBuilder exp = new StringBuilder();
+        for (int i = 0; i < 20; ++i) {
+            w.writeFields(Arrays.asList("€" + i, "ä🐈"));
+            exp.append("€").append(i).append(",ä🐈\n");
+        }
+        w.close();
+        assertEquals(exp.toString(), new String(os.toByteArray(), StandardCharsets.UTF_8));
+        for (int i = 0; i < sizes.size() - 1; ++i) {
+            assertEquals(8, (int) sizes.get(i));
+        }
+        assertTrue(sizes.get(sizes.size() - 1) <= 8);
+    }
+
+    @Test
+    public void testPosPathWriters() throws IOException {
+        final Path f = Paths.get("target/path-writer.csv");
+        final CSVFileWriter w = new CSVFileWriter(f, ';', '\'', 4096);
+        w.setForceOnClose(true);
+        w.writeFields(Arrays.asList("a;b", "c"));
+        w.close();
+        assertEquals("'a;b';c\n", new String(Files.readAllBytes(f), StandardCharsets.UTF_8));
+        final SSVFileWriter s = new SSVFileWriter(f);
+        s.writeFields(Arrays.asList("a\nb", "c"));
+        s.close();
+        assertEquals("a\rb\u001Fc\n", new String(Files.readAllBytes(f), StandardCharsets.UTF_8));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testNegForceOnClose() {
+        new CSVFileWriter(new StringWriter()).setForceOnClose(true);
+    }
+
+    @Test
+    public void testPosAsync() {
+        final ByteArrayOutputStream exp = new ByteArrayOutputStream();
+        final ByteArrayOutputStream act = new ByteArrayOutputStream();
+        final CSVFileWriter we = new CSVFileWriter(exp);
+        // slow sink so the writer has to wait for it now and then
+        final CSVFileWriter wa = new CSVFileWriter(new ByteWriter(new OutputStream() {
+            @Override
+            public void write(final int b) {
+                act.write(b);
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) throws IOException {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                act.write(b, off, len);
+            }
+        }, 64), ',', '"');
+        wa.setAsync(true);
+        for (int i = 0; i < 200; ++i) {
+            final List<String> row = Arrays.asList("row " + i, "ä\"🐈", "x,y");
+            we.writeFields(row);
+            wa.writeFields(row);
+            if (i == 100) {
+                wa.setAsync(false);
+                wa.setAsync(true);
+            }
+        }
+        we.close();
+        wa.close();
+        assertArrayEquals(exp.toByteArray(), act.toByteArray());
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void testNegAsyncWriteError() {
+        final CSVFileWriter w = new CSVFileWriter(new ByteWriter(new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("No space left on device");
+            }
+        }, 16), ',', '"');
+        w.setAsync(true);
+        w.writeFields(Arrays.asList("abc", "def"));
+        w.writeFields(Arrays.asList("abc", "def"));
+        // the error surfaces when waiting for the I/O thread at the latest
+        w.close();
+    }
+}
@@ -0,0 +1,76 @@
+package org.evolvis.tartools.csvfile;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests for {@link MappedFileReader}
+ */
+public class MappedFileReaderTest {
+    private static final Path UTF8 = Paths.get("src/test/resources/90.csv");
+
+    private static String readAll(final MappedFileReader r, final int step) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        final char[] cbuf = new char[step];
+        int n;
+        while ((n = r.read(cbuf, 0, step)) != -1) {
+            sb.append(cbuf, 0, n);
+        }
+        r.close();
+        return sb.toString();
+    }
+
+    @Test
+    public void testPosChunkBoundaries() throws IOException {
+        final String exp = new String(Files.readAllBytes(UTF8), StandardCharsets.UTF_8);
+        assertEquals(exp, readAll(new MappedFileReader(UTF8, StandardCharsets.UTF_8), 4096));
+        // every multibyte sequence crosses some mapping boundary
+        for (int chunk = 16; chunk < 24; ++chunk) {
+            assertEquals(exp, readAll(new MappedFileReader(UTF8, StandardCharsets.UTF_8, chunk), 7));
+        }
+    }
+
+    @Test
+    public void testPosSingleChars() throws IOException {
+        // surrogate pairs must be split across calls
+        final String exp = new String(Files.readAllBytes(UTF8), StandardCharsets.UTF_8);
+        assertEquals(exp, readAll(new MappedFileReader(UTF8, StandardCharsets.UTF_8, 16), 1));
+    }
+
+    @Test
+    public void testPosEmpty() throws IOException {
+        final Path p = Files.createTempFile("csvfile", ".csv");
+        try {
+            assertEquals("", readAll(new MappedFileReader(p, StandardCharsets.UTF_8), 16));
+        } finally {
+            Files.delete(p);
+        }
+    }
+}
@@ -24,13 +24,24 @@ import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.evolvis.tartools.csvfile.CSVFile.CR;
-import static org.evolvis.tartools.csvfile.SSVFileReader.BUFSIZ;
+import static org.evolvis.tartools.csvfile.CSVFileReader.WINDOW_SIZE;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests for {@link SSVFileReader} that need protected access and can’t be in
@@ -39,7 +50,7 @@ import static org.junit.Assert.assertNull;
  * @author mirabilos (t.glaser@qvest-digital.com)
  */
 public class SSVFileReaderTest {
-    private static final byte[] BUF = new byte[BUFSIZ + 2];
+    private static final byte[] BUF = new byte[WINDOW_SIZE + 2];
 
     private static final byte[] T01 = { 'a', (byte) 0x0D, (byte) 0x0A, 'b', (byte) 0x0A, 'c' };
 
@@ -58,11 +69,58 @@ public class SSVFileReaderTest {
         assertNull(sr.inReadLine());
     }
 
+    @Test
+    public void testPosReadlineCharWindow() throws IOException {
+        final SSVFileReader sr = new SSVFileReader(new StringReader("a\u001Fb\u0000x\u001Fy\n\nc\r\u001F"));
+        sr.buf = new char[2];
+        assertEquals(Arrays.asList("a", "b"), sr.readFields());
+        assertEquals("", sr.inReadLine());
+        assertEquals(Arrays.asList("c" + System.lineSeparator()), sr.readFields());
+        assertNull(sr.readFields());
+    }
+
+    @Test
+    public void testPosConcurrentReaders() throws InterruptedException, ExecutionException {
+        final ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < 32; ++t) {
+                final int id = t;
+                results.add(pool.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws IOException {
+                        final StringBuilder sb = new StringBuilder();
+                        for (int i = 0; i < 5000; ++i) {
+                            sb.append(id).append('\u001F').append(i).append('\u001F')
+                              .append("some longer content to cross the window boundaries\n");
+                        }
+                        final SSVFileReader sr = (id & 1) == 0 ?
+                          new SSVFileReader(new StringReader(sb.toString())) :
+                          new SSVFileReader(new ByteArrayInputStream(sb.toString().getBytes(StandardCharsets.UTF_8)));
+                        int n = 0;
+                        List<String> fields;
+                        while ((fields = sr.readFields()) != null) {
+                            assertEquals(Arrays.asList(Integer.toString(id), Integer.toString(n),
+                              "some longer content to cross the window boundaries"), fields);
+                            ++n;
+                        }
+                        return n;
+                    }
+                }));
+            }
+            for (final Future<Integer> f : results) {
+                assertEquals(Integer.valueOf(5000), f.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     @Test
     public void testPosReadlineBlockThenEOF() throws IOException {
         Arrays.fill(BUF, (byte) 1);
-        final String cs = new String(BUF, 0, BUFSIZ, StandardCharsets.UTF_8);
-        final SSVFileReader sr = new SSVFileReader(new ByteArrayInputStream(BUF, 0, BUFSIZ));
+        final String cs = new String(BUF, 0, WINDOW_SIZE, StandardCharsets.UTF_8);
+        final SSVFileReader sr = new SSVFileReader(new ByteArrayInputStream(BUF, 0, WINDOW_SIZE));
         assertEquals(cs, sr.inReadLine());
         assertNull(sr.inReadLine());
     }
@@ -70,9 +128,85 @@ public class SSVFileReaderTest {
     @Test
     public void testPosReadlineBlockThenOneAndEOF() throws IOException {
         Arrays.fill(BUF, (byte) 1);
-        final String cs = new String(BUF, 0, BUFSIZ + 1, StandardCharsets.UTF_8);
-        final SSVFileReader sr = new SSVFileReader(new ByteArrayInputStream(BUF, 0, BUFSIZ + 1));
+        final String cs = new String(BUF, 0, WINDOW_SIZE + 1, StandardCharsets.UTF_8);
+        final SSVFileReader sr = new SSVFileReader(new ByteArrayInputStream(BUF, 0, WINDOW_SIZE + 1));
         assertEquals(cs, sr.inReadLine());
         assertNull(sr.inReadLine());
     }
+
+    private static final String T02 = "a\u001Fb\rc\u001F\u001F\nd\u0000x\n\re\n";
+
+    private static SSVFileReader[] readers(final String s) {
+        final SSVFileReader[] r = {
+          new SSVFileReader(new StringReader(s)),
+          new SSVFileReader(new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8))),
+          new SSVFileReader(new StringReader(s)),
+          new SSVFileReader(new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8))),
+        };
+        r[2].useUnixNewline();
+        r[3].useUnixNewline();
+        return r;
+    }
+
+    @Test
+    public void testPosCursorMatchesReadFields() throws IOException {
+        final SSVFileReader[] exp = readers(T02);
+        final SSVFileReader[] act = readers(T02);
+        for (int k = 0; k < exp.length; ++k) {
+            List<String> fields;
+            while ((fields = exp[k].readFields()) != null) {
+                assertTrue(act[k].nextRow());
+                assertEquals(fields.size(), act[k].getFieldCount());
+                for (int i = 0; i < fields.size(); ++i) {
+                    assertEquals(fields.get(i), act[k].getField(i).toString());
+                }
+            }
+            assertFalse(act[k].nextRow());
+        }
+    }
+
+    @Test
+    public void testPosCursorInPlace() throws IOException {
+        for (final SSVFileReader sr : readers(T02)) {
+            assertTrue(sr.nextRow());
+            // a view into the buffer, not a field copied through readFields()
+            final CharSequence f = sr.getField(0);
+            assertFalse(f instanceof String);
+            assertTrue(sr.nextRow());
+            assertSame(f, sr.getField(0));
+        }
+    }
+
+    @Test
+    public void testPosCursorDoesNotCopy() throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; ++i) {
+            sb.append(i).append("\u001Fsome\rtext\u001Fmore\n");
+        }
+        final String s = sb.toString();
+        for (final SSVFileReader sr : new SSVFileReader[] {
+          new SSVFileReader(new StringReader(s)),
+          new SSVFileReader(new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8))),
+        }) {
+            // a one-character newline can be converted in place on any platform
+            sr.useUnixNewline();
+            assertTrue(sr.nextRow());
+            final CharSequence[] views = new CharSequence[3];
+            for (int k = 0; k < views.length; ++k) {
+                views[k] = sr.getField(k);
+                assertFalse(views[k] instanceof String);
+            }
+            int rows = 1;
+            while (sr.nextRow()) {
+                assertEquals(views.length, sr.getFieldCount());
+                for (int k = 0; k < views.length; ++k) {
+                    // the same views into the buffer, not fields copied per row
+                    assertSame(views[k], sr.getField(k));
+                }
+                assertEquals("some\ntext", views[1].toString());
+                ++rows;
+            }
+            assertEquals(5000, rows);
+        }
+    }
 }
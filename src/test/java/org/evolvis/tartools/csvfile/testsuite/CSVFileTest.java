@@ -283,6 +283,11 @@ public class CSVFileTest {
         fw = new CSVFileWriter(OUTF(11), '!', '\t');
         cpy(fr, fw, OUTF(11), CMPF(11));
 
+        // memory-mapped
+        fr = new CSVFileReader(Paths.get(FILE(8)), StandardCharsets.UTF_8, '\t', '!');
+        fw = new CSVFileWriter(OUTF(11), '!', '\t');
+        cpy(fr, fw, OUTF(11), CMPF(11));
+
         // corner case
         sr = new FileReader(FILE(1));
         assertNotNull(sr);
@@ -315,6 +320,10 @@ public class CSVFileTest {
         fw = new CSVFileWriter(OUTF(16));
         cpy(fr, fw, OUTF(16), CMPF(16));
 
+        fr = new SSVFileReader(Paths.get(CMPF(12)));
+        fw = new CSVFileWriter(OUTF(16));
+        cpy(fr, fw, OUTF(16), CMPF(16));
+
         // quoted strings spanning input lines
         fr = new CSVFileReader(new FileReader(FILE(14)));
         fw = new SSVFileWriter(OUTF(14));
@@ -0,0 +1,207 @@
+package org.evolvis.tartools.csvfile.testsuite;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.evolvis.tartools.csvfile.CSVFileReader;
+import org.evolvis.tartools.csvfile.CSVFileWriter;
+import org.evolvis.tartools.csvfile.CSVMetrics;
+import org.evolvis.tartools.csvfile.SSVFileReader;
+import org.evolvis.tartools.csvfile.SSVFileWriter;
+import org.junit.Test;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link CSVMetrics}
+ */
+public class CSVMetricsTest {
+    private static final String CSV = "a,\"b,c\",\"x\ny\"\r\n1,2\n\"q\"\"q\"\n";
+
+    private static void readAll(final CSVFileReader r) throws IOException {
+        while (r.readFields() != null) {
+            // nothing
+        }
+        r.close();
+    }
+
+    private static long sum(final long[] histogram) {
+        long n = 0;
+        for (final long v : histogram) {
+            n += v;
+        }
+        return n;
+    }
+
+    @Test
+    public void testPosReader() throws IOException {
+        for (final CSVFileReader r : new CSVFileReader[] {
+          new CSVFileReader(new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)), "UTF-8"),
+          new CSVFileReader(new StringReader(CSV)),
+        }) {
+            final AtomicInteger calls = new AtomicInteger();
+            final CSVMetrics m = new CSVMetrics(2, metrics -> calls.incrementAndGet());
+            r.setMetrics(m);
+            assertEquals(m, r.getMetrics());
+            readAll(r);
+            assertEquals(3, m.getRows());
+            assertEquals(CSV.length(), m.getBytes());
+            assertEquals(6, m.getFields());
+            assertEquals(2.0, m.getFieldsPerRow(), 0);
+            assertEquals(3, m.getQuotedFields());
+            assertEquals(1, m.getMultiLineFields());
+            assertTrue(m.getIoNanos() >= 0);
+            assertTrue(m.getProcessNanos() >= 0);
+            // one full batch, then the rest at EOF; nothing new on close
+            assertEquals(2, calls.get());
+            assertEquals(2, sum(m.getLatencyHistogram()));
+        }
+    }
+
+    @Test
+    public void testPosReaderSSV() throws IOException {
+        final String s = "a\u001Fb\rc\n1\n";
+        for (final SSVFileReader r : new SSVFileReader[] {
+          new SSVFileReader(new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8))),
+          new SSVFileReader(new StringReader(s)),
+        }) {
+            final CSVMetrics m = new CSVMetrics();
+            r.setMetrics(m);
+            readAll(r);
+            assertEquals(2, m.getRows());
+            assertEquals(3, m.getFields());
+            assertEquals(0, m.getQuotedFields());
+            assertEquals(1, m.getMultiLineFields());
+            assertEquals(s.length(), m.getBytes());
+        }
+    }
+
+    private static void write(final CSVFileWriter w) {
+        w.writeFields(Arrays.asList("a", "b,c", "x\ny"));
+        w.beginRow();
+        w.writeField(1);
+        w.writeField("q\"q");
+        w.endRow();
+        w.close();
+    }
+
+    @Test
+    public void testPosWriter() {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final CSVFileWriter bw = new CSVFileWriter(bos);
+        final CSVMetrics bm = new CSVMetrics();
+        bw.setMetrics(bm);
+        write(bw);
+        assertEquals(bos.size(), bm.getBytes());
+        final StringWriter sw = new StringWriter();
+        final CSVFileWriter cw = new CSVFileWriter(sw) {
+            @Override
+            protected String prepareField(final Object field) {
+                return super.prepareField(field);
+            }
+        };
+        final CSVMetrics cm = new CSVMetrics();
+        cw.setMetrics(cm);
+        write(cw);
+        assertEquals(bos.toString(), sw.toString());
+        for (final CSVMetrics m : new CSVMetrics[] { bm, cm }) {
+            assertEquals(sw.toString().length(), m.getBytes());
+            assertEquals(2, m.getRows());
+            assertEquals(5, m.getFields());
+            assertEquals(3, m.getQuotedFields());
+            assertEquals(1, m.getMultiLineFields());
+            assertEquals(1, sum(m.getLatencyHistogram()));
+        }
+        final ByteArrayOutputStream sbos = new ByteArrayOutputStream();
+        final SSVFileWriter ssv = new SSVFileWriter(sbos);
+        final CSVMetrics sm = new CSVMetrics();
+        ssv.setMetrics(sm);
+        write(ssv);
+        assertEquals(0, sm.getQuotedFields());
+        assertEquals(1, sm.getMultiLineFields());
+        // subclasses, with and without formatting hook, count the same
+        for (final boolean hooked : new boolean[] { false, true }) {
+            final ByteArrayOutputStream xbos = new ByteArrayOutputStream();
+            final SSVFileWriter xw = hooked ? new SSVFileWriter(xbos) {
+                @Override
+                protected String prepareField(final Object field) {
+                    return super.prepareField(field);
+                }
+            } : new SSVFileWriter(xbos) {
+            };
+            final CSVMetrics xm = new CSVMetrics();
+            xw.setMetrics(xm);
+            write(xw);
+            assertEquals(sbos.toString(), xbos.toString());
+            assertEquals(0, xm.getQuotedFields());
+            assertEquals(1, xm.getMultiLineFields());
+        }
+    }
+
+    @Test
+    public void testPosDisabled() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new StringReader(CSV));
+        assertNull(r.getMetrics());
+        final CSVMetrics m = new CSVMetrics();
+        assertEquals(CSVMetrics.DEFAULT_BATCH_SIZE, m.getBatchSize());
+        r.setMetrics(m);
+        r.readFields();
+        r.setMetrics(null);
+        readAll(r);
+        // recorded but not published yet
+        assertEquals(0, m.getRows());
+        assertEquals(0.0, m.getBytesPerSecond(), 0);
+    }
+
+    @Test
+    public void testPosJMX() throws IOException, JMException {
+        final CSVMetrics m = new CSVMetrics();
+        final CSVFileReader r = new CSVFileReader(new StringReader(CSV));
+        r.setMetrics(m);
+        readAll(r);
+        m.register("CSVMetricsTest");
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName on = new ObjectName("org.evolvis.tartools.csvfile:type=CSVMetrics,name=" +
+          ObjectName.quote("CSVMetricsTest"));
+        try {
+            assertEquals(3L, server.getAttribute(on, "Rows"));
+            assertEquals(3L, server.getAttribute(on, "QuotedFields"));
+        } finally {
+            m.unregister();
+        }
+        assertFalse(server.isRegistered(on));
+    }
+}
@@ -0,0 +1,130 @@
+package org.evolvis.tartools.csvfile.testsuite;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.evolvis.tartools.csvfile.CSVFileReader;
+import org.evolvis.tartools.csvfile.KeyIndex;
+import org.evolvis.tartools.csvfile.SSVFileReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests for {@link KeyIndex}
+ */
+public class KeyIndexTest {
+    private static final String[] KEYS = {
+      "", "a", "ä€", "🐈", "\"q\"\"q\"", "\"multi\nline\"", "\"x,y\"",
+      // distinct keys with the same String.hashCode
+      "Aa", "BB",
+    };
+
+    private TestFiles files;
+    private Path csv;
+    private Path ssv;
+
+    @Before
+    public void setUp() throws IOException {
+        final Random rnd = new Random(3);
+        final StringBuilder sb = new StringBuilder("key,n,text\n");
+        for (int i = 0; i < 300; ++i) {
+            sb.append(KEYS[rnd.nextInt(KEYS.length)]).append(',').append(i);
+            if (rnd.nextBoolean()) {
+                sb.append(",\"long\r\ntext\"");
+            }
+            sb.append(rnd.nextBoolean() ? "\n" : "\r\n");
+        }
+        files = TestFiles.of(sb.toString());
+        csv = files.csv;
+        ssv = files.ssv;
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        files.delete();
+        Files.deleteIfExists(KeyIndex.sidecar(csv, 0));
+    }
+
+    private static List<List<String>> scan(final CSVFileReader r, final String key) throws IOException {
+        r.readHeader();
+        r.setFilter(0, CSVFileReader.FieldFilter.equalTo(key));
+        return TestFiles.readAll(r);
+    }
+
+    @Test
+    public void testPosCSV() throws IOException {
+        final KeyIndex index = KeyIndex.build(csv, StandardCharsets.UTF_8, ',', '"', true, 0);
+        assertEquals(300, index.getRowCount());
+        for (final String k : Arrays.asList("", "a", "ä€", "🐈", "q\"q", "multi\nline", "x,y", "Aa", "BB")) {
+            assertEquals(k, scan(new CSVFileReader(csv, StandardCharsets.UTF_8), k), index.lookup(k));
+        }
+        assertEquals(Collections.emptyList(), index.lookup("key"));
+        assertEquals(Collections.emptyList(), index.lookup("nope"));
+        index.close();
+        // reopens the file
+        assertEquals(scan(new CSVFileReader(csv, StandardCharsets.UTF_8), "a"), index.lookup("a"));
+        index.close();
+    }
+
+    @Test
+    public void testPosSSV() throws IOException {
+        final KeyIndex index = KeyIndex.buildSSV(ssv, true, 0);
+        for (final String k : Arrays.asList("", "a", "🐈", "x,y", "Aa")) {
+            final SSVFileReader r = new SSVFileReader(ssv);
+            assertEquals(k, scan(r, k), index.lookup(k));
+        }
+        index.close();
+    }
+
+    @Test
+    public void testPosSidecar() throws IOException {
+        final Path idx = KeyIndex.sidecar(csv, 0);
+        assertNull(KeyIndex.load(csv, idx));
+        KeyIndex.build(csv, StandardCharsets.UTF_8, ',', '"', true, 0).save(idx);
+        final KeyIndex index = KeyIndex.load(csv, idx);
+        assertNotNull(index);
+        assertEquals(0, index.getColumn());
+        assertEquals(scan(new CSVFileReader(csv, StandardCharsets.UTF_8), "BB"), index.lookup("BB"));
+        index.close();
+        Files.write(csv, "key\nBB\n".getBytes(StandardCharsets.UTF_8));
+        assertNull(KeyIndex.load(csv, idx));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNegChanged() throws IOException {
+        final KeyIndex index = KeyIndex.build(csv, StandardCharsets.UTF_8, ',', '"', true, 0);
+        Files.write(csv, "key\nBB\n".getBytes(StandardCharsets.UTF_8));
+        index.lookup("BB");
+    }
+}
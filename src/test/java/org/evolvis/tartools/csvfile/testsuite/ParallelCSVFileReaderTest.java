@@ -0,0 +1,226 @@
+package org.evolvis.tartools.csvfile.testsuite;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.evolvis.tartools.csvfile.CSVFileReader;
+import org.evolvis.tartools.csvfile.ParallelCSVFileReader;
+import org.evolvis.tartools.csvfile.ParallelSSVFileReader;
+import org.evolvis.tartools.csvfile.SSVFileReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link ParallelCSVFileReader} and {@link ParallelSSVFileReader}
+ */
+public class ParallelCSVFileReaderTest {
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private TestFiles files;
+    private Path csv;
+    private Path ssv;
+
+    @Before
+    public void setUp() throws IOException {
+        files = TestFiles.random(1, 300, 5);
+        csv = files.csv;
+        ssv = files.ssv;
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        files.delete();
+    }
+
+    private void check(final ParallelCSVFileReader p, final List<List<String>> exp) throws IOException {
+        p.setPool(pool);
+        for (final long size : Arrays.asList(1L, 2L, 3L, 7L, 16L, 61L, 1000L, 1L << 20)) {
+            p.setChunkSize(size);
+            final List<List<String>> ordered = new ArrayList<>();
+            p.forEachOrdered((number, fields) -> {
+                assertEquals(ordered.size(), number);
+                ordered.add(fields);
+            });
+            assertEquals("ordered, chunk size " + size, exp, ordered);
+            final Map<Long, List<String>> unordered = new ConcurrentSkipListMap<>();
+            p.forEach(unordered::put);
+            assertEquals("unordered, chunk size " + size, exp, new ArrayList<>(unordered.values()));
+            try (Stream<List<String>> rows = p.stream()) {
+                assertEquals("stream, chunk size " + size, exp, rows.collect(Collectors.toList()));
+            }
+            try (Stream<List<String>> rows = p.stream()) {
+                assertEquals("parallel stream, chunk size " + size, exp,
+                  rows.parallel().collect(Collectors.toList()));
+            }
+            try (Stream<List<String>> rows = p.stream()) {
+                final Spliterator<List<String>> split = rows.spliterator();
+                // the row counts are only looked for when splitting
+                assertFalse(split.hasCharacteristics(Spliterator.SIZED));
+                final Spliterator<List<String>> prefix = split.trySplit();
+                assertEquals("stream count, chunk size " + size, exp.size(),
+                  split.getExactSizeIfKnown() + (prefix == null ? 0 : prefix.getExactSizeIfKnown()));
+            }
+        }
+    }
+
+    @Test
+    public void testPosCSV() throws IOException {
+        check(new ParallelCSVFileReader(csv, StandardCharsets.UTF_8),
+          TestFiles.readAll(new CSVFileReader(csv, StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testPosSSV() throws IOException {
+        check(new ParallelSSVFileReader(ssv), TestFiles.readAll(new SSVFileReader(ssv)));
+    }
+
+    @Test
+    public void testPosReaderStream() throws IOException {
+        final List<List<String>> exp = TestFiles.readAll(new CSVFileReader(csv, StandardCharsets.UTF_8));
+        final CSVFileReader r = new CSVFileReader(csv.toString(), "UTF-8");
+        final Spliterator<List<String>> split = r.spliterator();
+        assertFalse(split.hasCharacteristics(Spliterator.SIZED));
+        // a single chunk, but the row count is known once splitting was tried
+        assertNull(split.trySplit());
+        assertTrue(split.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(exp.size(), split.estimateSize());
+        r.close();
+        try (Stream<List<String>> rows = new CSVFileReader(csv, StandardCharsets.UTF_8).stream()) {
+            assertEquals(exp, rows.parallel().collect(Collectors.toList()));
+        }
+        final List<List<String>> ssvExp = TestFiles.readAll(new SSVFileReader(ssv));
+        try (Stream<List<String>> rows = new SSVFileReader(ssv.toString()).stream()) {
+            assertEquals(ssvExp, rows.parallel().collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    public void testPosReaderStreamSubclass() throws IOException {
+        final List<List<String>> exp = TestFiles.readAll(new SSVFileReader(ssv));
+        // only adding a constructor keeps the reader splittable
+        final SSVFileReader plain = new SSVFileReader(ssv.toString()) {
+        };
+        final Spliterator<List<String>> split = plain.spliterator();
+        assertNull(split.trySplit());
+        assertTrue(split.hasCharacteristics(Spliterator.SIZED));
+        plain.close();
+        try (Stream<List<String>> rows = new SSVFileReader(ssv.toString()) {
+        }.stream()) {
+            assertEquals(exp, rows.parallel().collect(Collectors.toList()));
+        }
+        // postprocessing fields does not
+        final SSVFileReader hooked = new SSVFileReader(ssv.toString()) {
+            @Override
+            protected void addField(final List<String> fields, final String field) {
+                super.addField(fields, field);
+            }
+        };
+        final Spliterator<List<String>> rows = hooked.spliterator();
+        assertEquals(Long.MAX_VALUE, rows.estimateSize());
+        rows.trySplit();
+        assertFalse(rows.hasCharacteristics(Spliterator.SIZED));
+        hooked.close();
+    }
+
+    @Test
+    public void testPosReaderStreamFallback() throws IOException {
+        final String data = "a,b\n\"c\nd\"\ne\n";
+        final List<List<String>> exp = TestFiles.readAll(new CSVFileReader(new StringReader(data)));
+        final CSVFileReader r = new CSVFileReader(new StringReader(data));
+        final Spliterator<List<String>> split = r.spliterator();
+        assertEquals(Long.MAX_VALUE, split.estimateSize());
+        split.trySplit();
+        assertFalse(split.hasCharacteristics(Spliterator.SIZED));
+        r.close();
+        try (Stream<List<String>> rows = new CSVFileReader(new StringReader(data)).stream()) {
+            assertEquals(exp, rows.parallel().collect(Collectors.toList()));
+        }
+        // already started reading, so not split
+        final CSVFileReader started = new CSVFileReader(csv, StandardCharsets.UTF_8);
+        final List<String> first = started.readFields();
+        final Spliterator<List<String>> rest = started.spliterator();
+        assertEquals(Long.MAX_VALUE, rest.estimateSize());
+        final List<List<String>> all = new ArrayList<>();
+        all.add(first);
+        rest.forEachRemaining(all::add);
+        started.close();
+        assertEquals(TestFiles.readAll(new CSVFileReader(csv, StandardCharsets.UTF_8)), all);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNegReaderStreamTwice() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new StringReader("a\n"));
+        r.stream();
+        r.stream();
+    }
+
+    @Test
+    public void testNegForEachStops() throws IOException {
+        final AtomicInteger readers = new AtomicInteger();
+        final ParallelCSVFileReader p = new ParallelCSVFileReader(csv, StandardCharsets.UTF_8) {
+            @Override
+            protected CSVFileReader newReader(final InputStream stream) {
+                readers.incrementAndGet();
+                return super.newReader(stream);
+            }
+        };
+        p.setPool(pool);
+        p.setChunkSize(1);
+        try {
+            p.forEach((number, fields) -> {
+                throw new IllegalStateException("handler failed");
+            });
+            fail("no exception");
+        } catch (IllegalStateException e) {
+            assertEquals("handler failed", e.getMessage());
+        }
+        // one chunk per byte, but only those in flight are parsed after the failure
+        assertTrue(readers.get() + " readers", readers.get() < Files.size(csv) / 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegCharset() {
+        new ParallelCSVFileReader(csv, StandardCharsets.UTF_16);
+    }
+}
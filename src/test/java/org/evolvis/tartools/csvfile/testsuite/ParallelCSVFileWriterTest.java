@@ -0,0 +1,155 @@
+package org.evolvis.tartools.csvfile.testsuite;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.evolvis.tartools.csvfile.CSVFile;
+import org.evolvis.tartools.csvfile.CSVFileWriter;
+import org.evolvis.tartools.csvfile.ParallelCSVFileWriter;
+import org.evolvis.tartools.csvfile.SSVFileWriter;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link ParallelCSVFileWriter}
+ */
+public class ParallelCSVFileWriterTest {
+    private static final String[] CELLS = {
+      "", "a", "ä€", "🐈", "q\"q", "multi\nline", "multi\r\n\r\nline", "x;y", "1.5",
+    };
+
+    private static List<List<Object>> rows(final int n) {
+        final Random rnd = new Random(1);
+        final List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < n; ++i) {
+            final List<Object> row = new ArrayList<>();
+            row.add(i);
+            for (int j = rnd.nextInt(5); j > 0; --j) {
+                row.add(CELLS[rnd.nextInt(CELLS.length)]);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Test
+    public void testPosMatchesSequential() {
+        final List<List<Object>> rows = rows(5000);
+        final StringWriter exp = new StringWriter();
+        final CSVFileWriter we = new CSVFileWriter(exp, ';', '\'');
+        we.setRowSeparator(CSVFile.CRLF);
+        rows.forEach(we::writeFields);
+        we.close();
+        final StringWriter act = new StringWriter();
+        final CSVFileWriter wa = new CSVFileWriter(act, ';', '\'');
+        wa.setRowSeparator(CSVFile.CRLF);
+        final ParallelCSVFileWriter p = new ParallelCSVFileWriter(wa);
+        p.setMaxPending(100);
+        IntStream.range(0, rows.size()).parallel().forEach(i -> p.writeRow(i, rows.get(i)));
+        p.close();
+        assertEquals(exp.toString(), act.toString());
+    }
+
+    @Test
+    public void testPosSSVBatches() {
+        final List<List<Object>> rows = rows(1000);
+        final ByteArrayOutputStream exp = new ByteArrayOutputStream();
+        final SSVFileWriter we = new SSVFileWriter(exp);
+        rows.forEach(we::writeFields);
+        we.close();
+        final ByteArrayOutputStream act = new ByteArrayOutputStream();
+        final ParallelCSVFileWriter p = new ParallelCSVFileWriter(new SSVFileWriter(act));
+        IntStream.range(0, rows.size() / 10).parallel()
+          .forEach(k -> p.writeRows(k * 10, rows.subList(k * 10, k * 10 + 10)));
+        p.close();
+        assertArrayEquals(exp.toByteArray(), act.toByteArray());
+    }
+
+    @Test
+    public void testNegRejectedField() throws InterruptedException {
+        final ParallelCSVFileWriter p = new ParallelCSVFileWriter(new SSVFileWriter(new ByteArrayOutputStream()));
+        p.setMaxPending(4);
+        final AtomicInteger failed = new AtomicInteger();
+        final Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; ++t) {
+            final int first = t;
+            threads[t] = new Thread(() -> {
+                for (int i = first; i < 100; i += threads.length) {
+                    try {
+                        p.writeRow(i, Collections.singletonList(i == 2 ? "NUL\u0000" : "ok"));
+                    } catch (IllegalArgumentException e) {
+                        failed.incrementAndGet();
+                        return;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (final Thread t : threads) {
+            t.join(10000);
+            // rows far behind the rejected one must not wait for it forever
+            assertFalse(t.isAlive());
+        }
+        // each thread reaches rows that cannot be written any more
+        assertEquals(threads.length, failed.get());
+        try {
+            p.close();
+            throw new AssertionError("no error");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("NUL"));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegDuplicate() {
+        final ParallelCSVFileWriter p = new ParallelCSVFileWriter(new CSVFileWriter(new StringWriter()));
+        p.writeRow(0, Collections.singletonList("a"));
+        p.writeRow(0, Collections.singletonList("b"));
+    }
+
+    @Test
+    public void testNegMissing() {
+        final StringWriter sw = new StringWriter();
+        final ParallelCSVFileWriter p = new ParallelCSVFileWriter(new CSVFileWriter(sw));
+        p.writeRow(0, Arrays.asList("a", "b"));
+        p.writeRow(2, Collections.singletonList("c"));
+        try {
+            p.close();
+            throw new AssertionError("no error");
+        } catch (IllegalStateException e) {
+            assertEquals("rows missing from sequence number 1", e.getMessage());
+        }
+        assertEquals("a,b\n", sw.toString());
+    }
+}
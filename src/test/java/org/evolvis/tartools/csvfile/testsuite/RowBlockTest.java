@@ -0,0 +1,147 @@
+package org.evolvis.tartools.csvfile.testsuite;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.evolvis.tartools.csvfile.CSVFileReader;
+import org.evolvis.tartools.csvfile.RowBlock;
+import org.evolvis.tartools.csvfile.SSVFileReader;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests for {@link RowBlock} and {@link CSVFileReader#readBlock(RowBlock)}
+ */
+public class RowBlockTest {
+    private static final String CSV = "a,b,c\n\"d\"\"e\",\"f\ng\"\n\n,,\nh\r\ni,j,k,l\n";
+    private static final String SSV = "a\u001Fb\u001Fc\nd\re\u001Ff\n\n\u001F\u001F\nh\ni\u001Fj\u001Fk\u001Fl\n";
+
+    private static List<List<String>> rows(final CSVFileReader r) throws IOException {
+        final List<List<String>> rows = new ArrayList<>();
+        List<String> fields;
+        while ((fields = r.readFields()) != null) {
+            rows.add(fields);
+        }
+        r.close();
+        return rows;
+    }
+
+    private static List<List<String>> blocks(final CSVFileReader r, final int capacity) throws IOException {
+        final RowBlock block = new RowBlock(capacity);
+        final List<List<String>> rows = new ArrayList<>();
+        while (r.readBlock(block) > 0) {
+            final char[] chars = block.getChars();
+            for (int row = 0; row < block.getRowCount(); ++row) {
+                final List<String> fields = new ArrayList<>();
+                for (int c = 0; c < block.getColumnCount(); ++c) {
+                    final int len = block.getLengths(c)[row];
+                    if (c < block.getFieldCount(row)) {
+                        fields.add(new String(chars, block.getOffsets(c)[row], len));
+                        assertEquals(fields.get(c), block.getString(row, c));
+                    } else {
+                        assertEquals(-1, len);
+                        assertNull(block.getString(row, c));
+                    }
+                }
+                rows.add(fields);
+            }
+        }
+        assertEquals(0, block.getRowCount());
+        r.close();
+        return rows;
+    }
+
+    @Test
+    public void testPosCSV() throws IOException {
+        final List<List<String>> exp = rows(new CSVFileReader(new StringReader(CSV)));
+        for (final int capacity : new int[] { 1, 2, 3, 4096 }) {
+            assertEquals(exp, blocks(new CSVFileReader(new StringReader(CSV)), capacity));
+            assertEquals(exp, blocks(new CSVFileReader(
+              new ByteArrayInputStream(CSV.getBytes(StandardCharsets.UTF_8)), "UTF-8"), capacity));
+        }
+    }
+
+    @Test
+    public void testPosSSV() throws IOException {
+        final List<List<String>> exp = rows(new SSVFileReader(new StringReader(SSV)));
+        assertEquals(Arrays.asList("d" + System.lineSeparator() + "e", "f"), exp.get(1));
+        for (final int capacity : new int[] { 1, 2, 3, 4096 }) {
+            assertEquals(exp, blocks(new SSVFileReader(new StringReader(SSV)), capacity));
+            assertEquals(exp, blocks(new SSVFileReader(
+              new ByteArrayInputStream(SSV.getBytes(StandardCharsets.UTF_8))), capacity));
+            assertEquals(exp, blocks(new SSVFileReader(new StringReader(SSV)) {
+            }, capacity));
+        }
+    }
+
+    @Test
+    public void testPosSSVSubclass() throws IOException {
+        final List<List<String>> exp = new ArrayList<>();
+        for (final List<String> row : rows(new SSVFileReader(new StringReader(SSV)))) {
+            final List<String> fields = new ArrayList<>();
+            for (final String f : row) {
+                fields.add(f.toUpperCase());
+            }
+            exp.add(fields);
+        }
+        // postprocessed fields are still served through readFields()
+        assertEquals(exp, blocks(new SSVFileReader(new StringReader(SSV)) {
+            @Override
+            protected void addField(final List<String> fields, final String field) {
+                super.addField(fields, field.toUpperCase());
+            }
+        }, 2));
+    }
+
+    @Test
+    public void testPosReuse() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new StringReader(CSV));
+        final RowBlock block = new RowBlock(2);
+        assertEquals(2, r.readBlock(block));
+        final int[] lengths = block.getLengths(0);
+        assertEquals(2, r.readBlock(block));
+        assertSame(lengths, block.getLengths(0));
+        // "" and ",," (a separator at the end of the line does not start another field)
+        assertEquals(2, block.getColumnCount());
+        assertEquals(1, block.getFieldCount(0));
+        assertEquals(-1, block.getLengths(1)[0]);
+        assertEquals(2, block.getFieldCount(1));
+        r.close();
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNegColumn() throws IOException {
+        final CSVFileReader r = new CSVFileReader(new StringReader("a,b\n"));
+        final RowBlock block = new RowBlock();
+        r.readBlock(block);
+        block.getOffsets(2);
+    }
+}
@@ -0,0 +1,154 @@
+package org.evolvis.tartools.csvfile.testsuite;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.evolvis.tartools.csvfile.CSVFileReader;
+import org.evolvis.tartools.csvfile.RowIndex;
+import org.evolvis.tartools.csvfile.SSVFileReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link RowIndex}
+ */
+public class RowIndexTest {
+    private TestFiles files;
+    private Path csv;
+    private Path ssv;
+
+    @Before
+    public void setUp() throws IOException {
+        files = TestFiles.random(2, 200, 4);
+        csv = files.csv;
+        ssv = files.ssv;
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        files.delete();
+        Files.deleteIfExists(RowIndex.sidecar(csv));
+    }
+
+    private static void check(final RowIndex index, final List<List<String>> exp) throws IOException {
+        assertEquals(exp.size(), index.getRowCount());
+        for (int row = 0; row <= exp.size(); ++row) {
+            final CSVFileReader r = index.openAt(row);
+            if (row < exp.size()) {
+                assertTrue(r.nextRow());
+                assertEquals(row + 1, r.getRowNumber());
+                final List<String> fields = new ArrayList<>();
+                for (int i = 0; i < r.getFieldCount(); ++i) {
+                    fields.add(r.getFieldString(i));
+                }
+                assertEquals("row " + row, exp.get(row), fields);
+            } else {
+                assertFalse(r.nextRow());
+            }
+            r.close();
+        }
+    }
+
+    @Test
+    public void testPosCSV() throws IOException {
+        final List<List<String>> exp = TestFiles.readAll(new CSVFileReader(csv, StandardCharsets.UTF_8));
+        for (final int interval : new int[] { 1, 3, 64, RowIndex.DEFAULT_INTERVAL }) {
+            check(RowIndex.build(csv, StandardCharsets.UTF_8, ',', '"', interval), exp);
+        }
+    }
+
+    @Test
+    public void testPosSSV() throws IOException {
+        final List<List<String>> exp = TestFiles.readAll(new SSVFileReader(ssv));
+        final RowIndex index = RowIndex.buildSSV(ssv, 7);
+        check(index, exp);
+        final CSVFileReader r = index.openAt(5);
+        assertTrue(r instanceof SSVFileReader);
+        assertEquals(exp.get(5), r.readFields());
+        r.close();
+    }
+
+    @Test
+    public void testPosCheckpointAfterOpenAt() throws IOException {
+        final List<List<String>> exp = TestFiles.readAll(new CSVFileReader(csv, StandardCharsets.UTF_8));
+        final CSVFileReader r = RowIndex.build(csv, StandardCharsets.UTF_8, ',', '"', 7).openAt(10);
+        for (int k = 0; k < 3; ++k) {
+            assertTrue(r.nextRow());
+        }
+        final CSVFileReader.Checkpoint cp = r.getCheckpoint();
+        r.close();
+        final CSVFileReader resumed = new CSVFileReader(csv, StandardCharsets.UTF_8, ',', '"', cp);
+        assertTrue(resumed.nextRow());
+        assertEquals(14, resumed.getRowNumber());
+        assertEquals(exp.get(13).get(0), resumed.getFieldString(0));
+        resumed.close();
+        final List<List<String>> ssvExp = TestFiles.readAll(new SSVFileReader(ssv));
+        final CSVFileReader sr = RowIndex.buildSSV(ssv, 7).openAt(10);
+        assertEquals(ssvExp.get(10), sr.readFields());
+        final CSVFileReader.Checkpoint scp = sr.getCheckpoint();
+        sr.close();
+        final SSVFileReader sresumed = new SSVFileReader(ssv, scp);
+        assertTrue(sresumed.nextRow());
+        assertEquals(12, sresumed.getRowNumber());
+        sresumed.close();
+    }
+
+    @Test
+    public void testPosSidecar() throws IOException {
+        final Path idx = RowIndex.sidecar(csv);
+        assertEquals(csv.getFileName() + ".idx", idx.getFileName().toString());
+        assertNull(RowIndex.load(csv, idx));
+        RowIndex.build(csv, StandardCharsets.UTF_8, ',', '"', 5).save(idx);
+        final RowIndex index = RowIndex.load(csv, idx);
+        assertNotNull(index);
+        assertEquals(5, index.getInterval());
+        assertTrue(index.isCurrent());
+        check(index, TestFiles.readAll(new CSVFileReader(csv, StandardCharsets.UTF_8)));
+        Files.setLastModifiedTime(csv, FileTime.fromMillis(Files.getLastModifiedTime(csv).toMillis() - 5000));
+        assertFalse(index.isCurrent());
+        assertNull(RowIndex.load(csv, idx));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegCharset() throws IOException {
+        RowIndex.build(csv, StandardCharsets.UTF_16, ',', '"', 5);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testNegRow() throws IOException {
+        final RowIndex index = RowIndex.build(csv, StandardCharsets.UTF_8, ',', '"', 5);
+        index.openAt(index.getRowCount() + 1);
+    }
+}
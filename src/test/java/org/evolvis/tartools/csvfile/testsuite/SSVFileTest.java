@@ -34,6 +34,7 @@ import static org.evolvis.tartools.csvfile.CSVFile.CR;
 import static org.evolvis.tartools.csvfile.CSVFile.CRLF;
 import static org.evolvis.tartools.csvfile.CSVFile.LF;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -173,6 +174,19 @@ public class SSVFileTest {
         assertNull(sr.readFields());
     }
 
+    @Test
+    public void testPosCursor() throws IOException {
+        final SSVFileReader sr = new SSVFileReader(new ByteArrayInputStream(T03));
+        assertTrue(sr.nextRow());
+        assertEquals(1, sr.getFieldCount());
+        assertEquals("a", sr.getFieldString(0));
+        assertTrue(sr.nextRow());
+        assertEquals(2, sr.getFieldCount());
+        assertEquals("c", sr.getField(0).toString());
+        assertEquals("d", sr.getField(1).toString());
+        assertFalse(sr.nextRow());
+    }
+
     @Test
     public void testPosLineSeparator() {
         // no 68k Macintosh
@@ -0,0 +1,135 @@
+package org.evolvis.tartools.csvfile.testsuite;
+
+/*-
+ * Copyright © 2026
+ *      Qvest Digital AG, Bonn, Germany
+ *
+ * Provided that these terms and disclaimer and all copyright notices
+ * are retained or reproduced in an accompanying document, permission
+ * is granted to deal in this work without restriction, including un‐
+ * limited rights to use, publicly perform, distribute, sell, modify,
+ * merge, give away, or sublicence.
+ *
+ * This work is provided “AS IS” and WITHOUT WARRANTY of any kind, to
+ * the utmost extent permitted by applicable law, neither express nor
+ * implied; without malicious intent or gross negligence. In no event
+ * may a licensor, author or contributor be held liable for indirect,
+ * direct, other damage, loss, or other issues arising in any way out
+ * of dealing in the work, even if advised of the possibility of such
+ * damage or existence of a defect, except proven that it results out
+ * of said person’s immediate fault when using the work as intended.
+ */
+
+import org.evolvis.tartools.csvfile.CSVFileReader;
+import org.evolvis.tartools.csvfile.SSVFileWriter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Temporary CSV file for tests, with a copy converted to SSV.
+ */
+final class TestFiles {
+    /**
+     * Cells of random rows, with non-ASCII characters, quoting and newlines.
+     */
+    private static final String[] CELLS = {
+      "", "a", "ä€", "🐈", "\"q\"\"q\"", "\"multi\nline\"", "\"multi\r\n\r\nline\"", "\"x,y\"",
+    };
+
+    /**
+     * The CSV file, in UTF-8.
+     */
+    final Path csv;
+
+    /**
+     * The same rows as SSV.
+     */
+    final Path ssv;
+
+    private TestFiles(final Path csv, final Path ssv) {
+        this.csv = csv;
+        this.ssv = ssv;
+    }
+
+    /**
+     * Creates the files from CSV data.
+     *
+     * @param data the CSV data
+     * @return the files
+     * @throws IOException if the files cannot be written
+     */
+    static TestFiles of(final String data) throws IOException {
+        final Path csv = Files.createTempFile("csvfile", ".csv");
+        Files.write(csv, data.getBytes(StandardCharsets.UTF_8));
+        final Path ssv = Files.createTempFile("csvfile", ".ssv");
+        final CSVFileReader r = new CSVFileReader(csv, StandardCharsets.UTF_8);
+        final SSVFileWriter w = new SSVFileWriter(ssv.toString());
+        List<String> row;
+        while ((row = r.readFields()) != null) {
+            w.writeFields(row);
+        }
+        r.close();
+        w.close();
+        return new TestFiles(csv, ssv);
+    }
+
+    /**
+     * Creates the files from random rows, always the same for a seed;
+     * lines end in LF or CR-LF.
+     *
+     * @param seed  of the random rows
+     * @param rows  number of rows
+     * @param width maximum number of cells per row
+     * @return the files
+     * @throws IOException if the files cannot be written
+     */
+    static TestFiles random(final long seed, final int rows, final int width) throws IOException {
+        final Random rnd = new Random(seed);
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rows; ++i) {
+            final int n = 1 + rnd.nextInt(width);
+            for (int j = 0; j < n; ++j) {
+                if (j > 0) {
+                    sb.append(',');
+                }
+                sb.append(CELLS[rnd.nextInt(CELLS.length)]);
+            }
+            sb.append(rnd.nextBoolean() ? "\n" : "\r\n");
+        }
+        return of(sb.toString());
+    }
+
+    /**
+     * Deletes the files.
+     *
+     * @throws IOException if they cannot be deleted
+     */
+    void delete() throws IOException {
+        Files.delete(csv);
+        Files.delete(ssv);
+    }
+
+    /**
+     * Reads the remaining rows with {@link CSVFileReader#readFields()}
+     * and closes the reader.
+     *
+     * @param r the reader
+     * @return the rows
+     * @throws IOException if the rows cannot be read
+     */
+    static List<List<String>> readAll(final CSVFileReader r) throws IOException {
+        final List<List<String>> rows = new ArrayList<>();
+        List<String> row;
+        while ((row = r.readFields()) != null) {
+            rows.add(row);
+        }
+        r.close();
+        return rows;
+    }
+}